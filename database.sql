@@ -31,4 +31,50 @@ ALTER TABLE categories
 	ADD COLUMN created_date TIMESTAMP;
 	
 ALTER TABLE categories
-	ADD COLUMN last_modified_date TIMESTAMP;
\ No newline at end of file
+	ADD COLUMN last_modified_date TIMESTAMP;
+
+CREATE INDEX idx_products_category_id_id ON products (category_id, id);
+
+CREATE INDEX idx_products_category_price_id ON products (category_id, price, id);
+
+CREATE INDEX idx_products_category_name_id ON products (category_id, name, id);
+
+ALTER TABLE products
+	ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE category_stats
+(
+	category_id 	BIGINT 	NOT NULL,
+	product_count 	BIGINT 	NOT NULL,
+	price_sum 		BIGINT 	NOT NULL,
+	price_min 		BIGINT,
+	price_max 		BIGINT,
+	dirty 			BOOLEAN NOT NULL DEFAULT FALSE,
+	PRIMARY KEY(category_id)
+) ENGINE INNODB;
+
+CREATE TABLE change_log
+(
+	id 				BIGINT 		 NOT NULL,
+	entity_type 	VARCHAR(50)  NOT NULL,
+	entity_id 		BIGINT,
+	category_id 	BIGINT,
+	operation 		VARCHAR(10)  NOT NULL,
+	source 			VARCHAR(100) NOT NULL,
+	changed_at 		TIMESTAMP(3) NOT NULL,
+	PRIMARY KEY(id)
+) ENGINE INNODB;
+
+CREATE TABLE change_log_sequence
+(
+	last_sequence 	BIGINT 		 NOT NULL
+) ENGINE INNODB;
+
+INSERT INTO change_log_sequence (last_sequence) VALUES (0);
+
+CREATE TABLE change_log_offsets
+(
+	consumer 		VARCHAR(100) NOT NULL,
+	last_sequence 	BIGINT 		 NOT NULL,
+	PRIMARY KEY(consumer)
+) ENGINE INNODB;
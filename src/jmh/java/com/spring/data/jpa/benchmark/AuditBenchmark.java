@@ -0,0 +1,70 @@
+package com.spring.data.jpa.benchmark;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.repository.CategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditBenchmark {
+
+    @Param({"spring", "fast"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+
+    private CategoryRepository categoryRepository;
+
+    private TransactionOperations transactionOperations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("audit.mode=" + mode);
+        categoryRepository = context.getBean(CategoryRepository.class);
+        transactionOperations = context.getBean(TransactionOperations.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // the stamp timer isolates the listener cost from the insert itself
+        for (Timer timer : context.getBean(MeterRegistry.class).find("audit.stamp").timers()) {
+            System.out.printf("%n%s %s: %.0f ns per entity%n", timer.getId().getTag("mode"),
+                    timer.getId().getTag("event"), timer.mean(TimeUnit.NANOSECONDS));
+        }
+        context.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Benchmark
+    public List<Category> saveAndTouch() {
+        List<Category> categories = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            Category category = new Category();
+            category.setName("Audit Category " + i);
+            categories.add(category);
+        }
+
+        transactionOperations.executeWithoutResult(status -> {
+            categoryRepository.saveAll(categories);
+            categoryRepository.flush();
+            categories.forEach(category -> category.setName(category.getName() + " updated"));
+        });
+        return categories;
+    }
+}
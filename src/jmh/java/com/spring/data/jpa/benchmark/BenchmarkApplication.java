@@ -0,0 +1,46 @@
+package com.spring.data.jpa.benchmark;
+
+import com.spring.data.jpa.BelajarSpringDataJpaApplication;
+import com.spring.data.jpa.synthetic.SyntheticDataGenerator;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class BenchmarkApplication {
+
+    public static final int CATEGORIES = 10;
+
+    public static final int PRODUCTS_PER_CATEGORY = 10_000;
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String... overrides) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.profiles.active", "embedded");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("synthetic.fixtures", "false");
+        properties.put("logging.level.root", "WARN");
+
+        for (String override : overrides) {
+            String[] pair = override.replaceFirst("^--", "").split("=", 2);
+            properties.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+
+        // command line arguments, because default properties lose against application.properties
+        String[] arguments = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+
+        return new SpringApplicationBuilder(BelajarSpringDataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments);
+    }
+
+    public static void seed(ConfigurableApplicationContext context) {
+        context.getBean(SyntheticDataGenerator.class).generate(CATEGORIES, PRODUCTS_PER_CATEGORY);
+    }
+}
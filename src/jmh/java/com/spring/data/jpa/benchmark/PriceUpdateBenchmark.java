@@ -0,0 +1,73 @@
+package com.spring.data.jpa.benchmark;
+
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.repository.ProductRepository;
+import com.spring.data.jpa.service.ProductPriceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class PriceUpdateBenchmark {
+
+    @Param({"1", "8"})
+    public int hotProducts;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductPriceService productPriceService;
+
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "--product.price.max-attempts=1000",
+                "--spring.datasource.hikari.maximum-pool-size=32"
+        );
+        BenchmarkApplication.seed(context);
+
+        productPriceService = context.getBean(ProductPriceService.class);
+        List<Product> products = context.getBean(ProductRepository.class)
+                .findAll(PageRequest.of(0, hotProducts)).getContent();
+        ids = products.stream().mapToLong(Product::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Product pessimistic() {
+        return productPriceService.updatePricePessimistic(id(), price());
+    }
+
+    @Benchmark
+    public Product optimistic() {
+        return productPriceService.updatePrice(id(), price());
+    }
+
+    @Benchmark
+    public boolean coalesced() {
+        return productPriceService.submitPrice(id(), price());
+    }
+
+    private long id() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private long price() {
+        return ThreadLocalRandom.current().nextLong(1, 100_000_000L);
+    }
+}
@@ -0,0 +1,46 @@
+package com.spring.data.jpa.benchmark;
+
+import com.spring.data.jpa.model.ProductPage;
+import com.spring.data.jpa.service.ProductPageService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// the embedded database has no network round-trip, so the gap here is a lower bound of what MySQL shows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductPageBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private ProductPageService productPageService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context);
+
+        productPageService = context.getBean(ProductPageService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductPage sequential() {
+        return productPageService.load("Category 3", "Product 3-42");
+    }
+
+    @Benchmark
+    public ProductPage parallel() {
+        return productPageService.loadAsync("Category 3", "Product 3-42", Duration.ofSeconds(5)).join();
+    }
+}
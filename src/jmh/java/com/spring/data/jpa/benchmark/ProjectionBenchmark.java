@@ -0,0 +1,79 @@
+package com.spring.data.jpa.benchmark;
+
+import com.spring.data.jpa.model.ProductPrice;
+import com.spring.data.jpa.model.SimpleProduct;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// run with the default -prof gc to compare gc.alloc.rate.norm between the Hibernate and JDBC paths
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private ProductRepository productRepository;
+
+    private Long categoryId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context);
+
+        productRepository = context.getBean(ProductRepository.class);
+        categoryId = context.getBean(CategoryRepository.class).findFirstByNameEquals("Category 3").orElseThrow().getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SimpleProduct> simpleProductHibernate() {
+        return productRepository.findAllByNameLike("Product 3-1%", SimpleProduct.class);
+    }
+
+    @Benchmark
+    public List<SimpleProduct> simpleProductJdbc() {
+        return productRepository.findSimpleProductsByNameLike("Product 3-1%");
+    }
+
+    @Benchmark
+    public List<ProductPrice> productPriceHibernate() {
+        return productRepository.findAllByNameLike("Product 3-1%", ProductPrice.class);
+    }
+
+    @Benchmark
+    public List<ProductPrice> productPriceJdbc() {
+        return productRepository.findProductPricesByNameLike("Product 3-1%");
+    }
+
+    @Benchmark
+    public long pricesHibernate() {
+        long sum = 0;
+        for (ProductPrice productPrice : productRepository.findAllByNameLike("Product 3-%", ProductPrice.class)) {
+            sum += productPrice.price();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long pricesPrimitive() {
+        long sum = 0;
+        for (long price : productRepository.findPricesByCategoryId(categoryId)) {
+            sum += price;
+        }
+        return sum;
+    }
+}
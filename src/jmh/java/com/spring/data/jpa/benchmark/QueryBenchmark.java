@@ -0,0 +1,83 @@
+package com.spring.data.jpa.benchmark;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.SimpleProduct;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private ProductRepository productRepository;
+
+    private Category category;
+
+    private final Pageable pageable = PageRequest.of(10, 20);
+
+    private final Specification<Product> specification = (root, criteria, builder) -> builder.and(
+            builder.equal(root.get("category").get("name"), "Category 3"),
+            builder.between(root.get("price"), 100_000L, 200_000L)
+    );
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context);
+
+        productRepository = context.getBean(ProductRepository.class);
+        category = context.getBean(CategoryRepository.class).findFirstByNameEquals("Category 3").orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Product> findAllByCategoryNamePage() {
+        return productRepository.findAllByCategory_Name("Category 3", pageable);
+    }
+
+    @Benchmark
+    public Slice<Product> findAllByCategorySlice() {
+        return productRepository.findAllByCategory(category, pageable);
+    }
+
+    @Benchmark
+    public Page<Product> searchProduct() {
+        return productRepository.searchProduct("%Product 3-42%", pageable);
+    }
+
+    @Benchmark
+    public List<SimpleProduct> projectionSimpleProduct() {
+        return productRepository.findAllByNameLike("Product 3-1%", SimpleProduct.class);
+    }
+
+    @Benchmark
+    public List<Product> projectionEntity() {
+        return productRepository.findAllByNameLike("Product 3-1%", Product.class);
+    }
+
+    @Benchmark
+    public List<Product> specification() {
+        return productRepository.findAll(specification);
+    }
+}
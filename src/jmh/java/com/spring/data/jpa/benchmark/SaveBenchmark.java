@@ -0,0 +1,72 @@
+package com.spring.data.jpa.benchmark;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.service.BulkSaveService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaveBenchmark {
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private CategoryRepository categoryRepository;
+
+    private BulkSaveService bulkSaveService;
+
+    private TransactionOperations transactionOperations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        categoryRepository = context.getBean(CategoryRepository.class);
+        bulkSaveService = context.getBean(BulkSaveService.class);
+        transactionOperations = context.getBean(TransactionOperations.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Benchmark
+    public List<Category> saveLoop() {
+        List<Category> categories = categories();
+        transactionOperations.executeWithoutResult(status -> categories.forEach(categoryRepository::save));
+        return categories;
+    }
+
+    @Benchmark
+    public List<Category> bulkSave() {
+        return bulkSaveService.saveCategories(categories());
+    }
+
+    private List<Category> categories() {
+        List<Category> categories = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Category category = new Category();
+            category.setName("Benchmark Category " + i);
+            categories.add(category);
+        }
+        return categories;
+    }
+}
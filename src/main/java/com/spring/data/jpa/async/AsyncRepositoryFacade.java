@@ -0,0 +1,132 @@
+package com.spring.data.jpa.async;
+
+import com.spring.data.jpa.concurrency.ConnectionAdmissionControl;
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+@Component
+public class AsyncRepositoryFacade {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("repositoryExecutor")
+    private AsyncTaskExecutor repositoryExecutor;
+
+    @Autowired
+    private ConnectionAdmissionControl admissionControl;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // entities come back detached, so anything the caller reads later has to be fetched inside the task
+    public CompletableFuture<List<Product>> findAllWithCategoryByCategoryName(Deadline deadline, String name) {
+        return readOnly(deadline, () -> productRepository.findAllWithCategoryByCategory_Name(name));
+    }
+
+    public CompletableFuture<Long> countByCategoryName(Deadline deadline, String name) {
+        return readOnly(deadline, () -> productRepository.countByCategory_name(name));
+    }
+
+    public CompletableFuture<Boolean> existsByName(Deadline deadline, String name) {
+        return readOnly(deadline, () -> productRepository.existsByName(name));
+    }
+
+    public CompletableFuture<Optional<Category>> findCategoryByName(Deadline deadline, String name) {
+        return readOnly(deadline, () -> categoryRepository.findFirstByNameEquals(name));
+    }
+
+    // each task runs in its own read-only transaction on a pool thread; a caller's transaction is never shared.
+    // Cancelling the returned future, which allOf does once the deadline passes, also cancels the statement
+    // still running on the database, so the connection comes back now rather than at the transaction timeout
+    public <T> CompletableFuture<T> readOnly(Deadline deadline, Supplier<T> query) {
+        AtomicReference<Session> running = new AtomicReference<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CompletableFuture<T> future = admissionControl.supplyAsync(() -> {
+            if (deadline.isExpired()) {
+                throw new CompletionException(new TimeoutException("Deadline expired before the query started"));
+            }
+
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            template.setTimeout(deadline.timeoutSeconds());
+            return template.execute(status -> {
+                // the shared proxy would resolve to whatever the cancelling thread has bound, so take the real session
+                running.set(entityManager.unwrap(SessionImplementor.class));
+                if (cancelled.get()) {
+                    throw new CancellationException("Cancelled before the query started");
+                }
+                try {
+                    return query.get();
+                } finally {
+                    running.set(null);
+                }
+            });
+        }, repositoryExecutor);
+
+        future.whenComplete((result, exception) -> {
+            if (exception instanceof CancellationException) {
+                cancelled.set(true);
+                Session session = running.get();
+                if (session != null) {
+                    session.cancelQuery();
+                }
+            }
+        });
+        return future;
+    }
+
+    // completes when every future did, fails as soon as one fails or the deadline passes
+    public static CompletableFuture<Void> allOf(Deadline deadline, CompletableFuture<?>... futures) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures);
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((result, exception) -> {
+                if (exception != null) {
+                    all.completeExceptionally(exception);
+                }
+            });
+        }
+
+        all.orTimeout(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((result, exception) -> {
+                    if (exception != null) {
+                        for (CompletableFuture<?> future : futures) {
+                            future.cancel(false);
+                        }
+                    }
+                });
+        return all;
+    }
+}
@@ -0,0 +1,24 @@
+package com.spring.data.jpa.async;
+
+import java.time.Duration;
+
+public record Deadline(long expiresAtNanos) {
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    // transaction timeouts are whole seconds, rounded up so a short deadline never means "no timeout"
+    public int timeoutSeconds() {
+        long millis = remaining().toMillis();
+        return (int) Math.max(1, (millis + 999) / 1000);
+    }
+}
@@ -0,0 +1,46 @@
+package com.spring.data.jpa.audit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+
+@Component
+public class AuditClock {
+
+    private final Clock clock = Clock.systemUTC();
+
+    // every entity flushed in one transaction gets the same instant, read once from the clock
+    public Instant now() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return clock.instant();
+        }
+
+        Instant now = (Instant) TransactionSynchronizationManager.getResource(this);
+        if (now == null) {
+            Instant read = clock.instant();
+            TransactionSynchronizationManager.bindResource(this, read);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // a REQUIRES_NEW transaction suspends this one and reads an instant of its own
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(AuditClock.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(AuditClock.this, read);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditClock.this);
+                }
+            });
+            now = read;
+        }
+        return now;
+    }
+}
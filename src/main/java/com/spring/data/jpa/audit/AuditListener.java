@@ -0,0 +1,62 @@
+package com.spring.data.jpa.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.auditing.AuditingHandler;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+public class AuditListener {
+
+    @Autowired
+    private AuditClock auditClock;
+
+    @Autowired
+    private ObjectFactory<AuditingHandler> auditingHandler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${audit.mode:fast}")
+    private AuditMode mode;
+
+    private Timer createTimer;
+
+    private Timer updateTimer;
+
+    @PostConstruct
+    public void registerTimers() {
+        String tag = mode.name().toLowerCase(Locale.ROOT);
+        createTimer = Timer.builder("audit.stamp").tag("mode", tag).tag("event", "create").register(meterRegistry);
+        updateTimer = Timer.builder("audit.stamp").tag("mode", tag).tag("event", "update").register(meterRegistry);
+    }
+
+    @PrePersist
+    public void onCreate(Object entity) {
+        long start = System.nanoTime();
+        if (mode == AuditMode.SPRING) {
+            auditingHandler.getObject().markCreated(entity);
+        } else {
+            AuditMetadata.of(entity.getClass()).markCreated(entity, auditClock.now());
+        }
+        createTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @PreUpdate
+    public void onUpdate(Object entity) {
+        long start = System.nanoTime();
+        if (mode == AuditMode.SPRING) {
+            auditingHandler.getObject().markModified(entity);
+        } else {
+            AuditMetadata.of(entity.getClass()).markModified(entity, auditClock.now());
+        }
+        updateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
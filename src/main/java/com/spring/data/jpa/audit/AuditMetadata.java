@@ -0,0 +1,67 @@
+package com.spring.data.jpa.audit;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.time.Instant;
+
+final class AuditMetadata {
+
+    private static final ClassValue<AuditMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected AuditMetadata computeValue(Class<?> type) {
+            return new AuditMetadata(handle(type, CreatedDate.class), handle(type, LastModifiedDate.class));
+        }
+    };
+
+    private final VarHandle createdDate;
+
+    private final VarHandle lastModifiedDate;
+
+    private AuditMetadata(VarHandle createdDate, VarHandle lastModifiedDate) {
+        this.createdDate = createdDate;
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    static AuditMetadata of(Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    void markCreated(Object entity, Instant now) {
+        if (createdDate != null && createdDate.get(entity) == null) {
+            createdDate.set(entity, now);
+        }
+        markModified(entity, now);
+    }
+
+    void markModified(Object entity, Instant now) {
+        if (lastModifiedDate != null) {
+            lastModifiedDate.set(entity, now);
+        }
+    }
+
+    // resolved once per entity type instead of wrapping every saved instance in a bean wrapper
+    private static VarHandle handle(Class<?> type, Class<? extends Annotation> annotation) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(annotation)) {
+                    continue;
+                }
+                if (field.getType() != Instant.class) {
+                    throw new IllegalStateException("Audit field " + current.getName() + "." + field.getName() +
+                            " must be an Instant");
+                }
+                try {
+                    return MethodHandles.privateLookupIn(current, MethodHandles.lookup()).unreflectVarHandle(field);
+                } catch (IllegalAccessException exception) {
+                    throw new IllegalStateException(exception);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.spring.data.jpa.audit;
+
+public enum AuditMode {
+
+    SPRING,
+    FAST
+}
@@ -0,0 +1,122 @@
+package com.spring.data.jpa.audit;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.event.BulkModificationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class AuditTouchQueue {
+
+    // never moves a timestamp backwards when a regular save wrote a newer one in the meantime
+    private static final String TOUCH_SQL =
+            "UPDATE categories SET last_modified_date = ? " +
+            "WHERE id = ? AND (last_modified_date IS NULL OR last_modified_date < ?)";
+
+    private final Clock clock = Clock.systemUTC();
+
+    private final Map<Long, Instant> pending = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionOperations transactionOperations;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationEventPublisher publisher;
+
+    private final int chunkSize;
+
+    private final Counter flushed;
+
+    private final Timer flushTimer;
+
+    public AuditTouchQueue(JdbcTemplate jdbcTemplate,
+                           TransactionOperations transactionOperations,
+                           EntityManagerFactory entityManagerFactory,
+                           ApplicationEventPublisher publisher,
+                           @Value("${bulk.chunk-size:500}") int chunkSize,
+                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.entityManagerFactory = entityManagerFactory;
+        this.publisher = publisher;
+        this.chunkSize = chunkSize;
+
+        Gauge.builder("audit.touch.pending", pending, Map::size).register(meterRegistry);
+        this.flushed = Counter.builder("audit.touch.flushed").register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.touch.flush").register(meterRegistry);
+    }
+
+    // repeated touches of one category between flushes collapse into a single UPDATE
+    public void touch(Long categoryId) {
+        pending.merge(categoryId, clock.instant(), AuditTouchQueue::latest);
+    }
+
+    public int pendingSize() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${audit.touch.flush-interval:PT1S}",
+               initialDelayString = "${audit.touch.flush-interval:PT1S}")
+    public int flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Long categoryId : pending.keySet()) {
+            Instant touched = pending.remove(categoryId);
+            if (touched != null) {
+                Timestamp timestamp = Timestamp.from(touched);
+                batch.add(new Object[]{timestamp, categoryId, timestamp});
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            flushTimer.record(() -> transactionOperations.executeWithoutResult(status -> {
+                for (int from = 0; from < batch.size(); from += chunkSize) {
+                    jdbcTemplate.batchUpdate(TOUCH_SQL, batch.subList(from, Math.min(from + chunkSize, batch.size())));
+                }
+                publisher.publishEvent(BulkModificationEvent.ofIds(Category.class, "touch",
+                        batch.stream().map(row -> (Long) row[1]).toList()));
+            }));
+        } catch (RuntimeException exception) {
+            // the batch rolled back, so its touches go back for the next flush unless newer ones arrived
+            batch.forEach(row -> pending.merge((Long) row[1], ((Timestamp) row[0]).toInstant(), AuditTouchQueue::latest));
+            throw exception;
+        }
+
+        // the second-level cache still holds the old timestamp for every touched category
+        batch.forEach(row -> entityManagerFactory.getCache().evict(Category.class, row[1]));
+        flushed.increment(batch.size());
+
+        return batch.size();
+    }
+
+    private static Instant latest(Instant current, Instant touched) {
+        return touched.isAfter(current) ? touched : current;
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
@@ -0,0 +1,40 @@
+package com.spring.data.jpa.changelog;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class ChangeLogListener {
+
+    // the writer needs the EntityManager, which Hibernate is still building when it creates listeners
+    @Autowired
+    private ObjectProvider<ChangeLogWriter> changeLogWriter;
+
+    @PostPersist
+    public void onInsert(Object entity) {
+        append(entity, ChangeOperation.INSERT);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        append(entity, ChangeOperation.UPDATE);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        append(entity, ChangeOperation.DELETE);
+    }
+
+    private void append(Object entity, ChangeOperation operation) {
+        if (entity instanceof Product product) {
+            Long categoryId = product.getCategory() == null ? null : product.getCategory().getId();
+            changeLogWriter.getObject().append(Product.class, product.getId(), categoryId, operation, "entity");
+        } else if (entity instanceof Category category) {
+            changeLogWriter.getObject().append(Category.class, category.getId(), category.getId(), operation, "entity");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.spring.data.jpa.changelog;
+
+import com.spring.data.jpa.model.ChangeBatch;
+import com.spring.data.jpa.model.ChangeLogEntry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+@Component
+public class ChangeLogPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogPoller.class);
+
+    private static final String OFFSET_SQL =
+            "INSERT INTO change_log_offsets (consumer, last_sequence) VALUES (?, ?) " +
+            "ON DUPLICATE KEY UPDATE last_sequence = GREATEST(last_sequence, VALUES(last_sequence))";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${change-log.batch-size:500}")
+    private int batchSize;
+
+    @Value("${change-log.retention:7d}")
+    private Duration retention;
+
+    private final Map<String, Consumer<List<ChangeLogEntry>>> subscriptions = new ConcurrentHashMap<>();
+
+    // sequences are taken in commit order without gaps (see ChangeLogWriter), so whatever is visible
+    // after a sequence is final and a consumer can move past it right away
+    public ChangeBatch poll(long afterSequence, int limit) {
+        List<ChangeLogEntry> entries = jdbcTemplate.query(
+                "SELECT id, entity_type, entity_id, category_id, operation, source, changed_at " +
+                "FROM change_log WHERE id > ? ORDER BY id LIMIT ?",
+                (resultSet, rowNumber) -> new ChangeLogEntry(
+                        resultSet.getLong("id"),
+                        resultSet.getString("entity_type"),
+                        resultSet.getObject("entity_id", Long.class),
+                        resultSet.getObject("category_id", Long.class),
+                        ChangeOperation.valueOf(resultSet.getString("operation")),
+                        resultSet.getString("source"),
+                        resultSet.getTimestamp("changed_at").toInstant()
+                ),
+                afterSequence, limit);
+
+        long lastSequence = entries.isEmpty() ? afterSequence : entries.get(entries.size() - 1).sequence();
+        return new ChangeBatch(entries, lastSequence, entries.size() == limit);
+    }
+
+    public long offset(String consumer) {
+        List<Long> offsets = jdbcTemplate.queryForList(
+                "SELECT last_sequence FROM change_log_offsets WHERE consumer = ?", Long.class, consumer);
+        return offsets.isEmpty() ? 0 : offsets.get(0);
+    }
+
+    // at-least-once: the offset moves only after the handler returned, so a crash replays the last batch
+    public int pollAndAcknowledge(String consumer, Consumer<List<ChangeLogEntry>> handler) {
+        int delivered = 0;
+        ChangeBatch batch;
+        do {
+            batch = poll(offset(consumer), batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            handler.accept(batch.entries());
+            jdbcTemplate.update(OFFSET_SQL, consumer, batch.lastSequence());
+            delivered += batch.entries().size();
+        } while (batch.hasMore());
+
+        return delivered;
+    }
+
+    public void subscribe(String consumer, Consumer<List<ChangeLogEntry>> handler) {
+        subscriptions.put(consumer, handler);
+        Gauge.builder("change.log.lag", this, poller -> poller.lag(consumer))
+                .tag("consumer", consumer)
+                .register(meterRegistry);
+    }
+
+    public long lag(String consumer) {
+        Long last = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM change_log", Long.class);
+        return Math.max(0, (last == null ? 0 : last) - offset(consumer));
+    }
+
+    @Scheduled(fixedDelayString = "${change-log.poll-interval:PT1S}",
+               initialDelayString = "${change-log.poll-interval:PT1S}")
+    public void pollSubscriptions() {
+        subscriptions.forEach((consumer, handler) -> {
+            try {
+                pollAndAcknowledge(consumer, handler);
+            } catch (RuntimeException exception) {
+                log.warn("Change log consumer {} failed, retrying on next poll", consumer, exception);
+            }
+        });
+    }
+
+    // only rows every registered consumer has acknowledged are removed
+    @Scheduled(fixedDelayString = "${change-log.purge-interval:PT1H}",
+               initialDelayString = "${change-log.purge-interval:PT1H}")
+    public void purge() {
+        Long acknowledged = jdbcTemplate.queryForObject(
+                "SELECT MIN(last_sequence) FROM change_log_offsets", Long.class);
+        if (acknowledged == null) {
+            return;
+        }
+
+        jdbcTemplate.update("DELETE FROM change_log WHERE id <= ? AND changed_at < ?",
+                acknowledged, Timestamp.from(Instant.now().minus(retention)));
+    }
+}
@@ -0,0 +1,124 @@
+package com.spring.data.jpa.changelog;
+
+import com.spring.data.jpa.event.BulkModificationEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class ChangeLogWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO change_log (id, entity_type, entity_id, category_id, operation, source, changed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String RESERVE_SQL = "UPDATE change_log_sequence SET last_sequence = last_sequence + ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void append(Class<?> entityType, Long entityId, Long categoryId, ChangeOperation operation, String source) {
+        write(List.<Object[]>of(new Object[]{entityType.getSimpleName(), entityId, categoryId, operation.name(), source,
+                Timestamp.from(Instant.now())}));
+    }
+
+    @EventListener
+    public void onBulkModification(BulkModificationEvent event) {
+        String entityType = event.domainType().getSimpleName();
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>();
+
+        if (event.hasIds()) {
+            event.ids().forEach(id -> rows.add(row(entityType, id, null, event.operation(), now)));
+        } else if (event.hasCategoryIds()) {
+            event.categoryIds().forEach(categoryId -> rows.add(row(entityType, null, categoryId, event.operation(), now)));
+        } else {
+            rows.add(row(entityType, null, null, event.operation(), now));
+        }
+
+        write(rows);
+    }
+
+    // entries are held until the transaction is about to commit and only then get their sequence, so
+    // sequences follow commit order and a rolled-back transaction never takes one
+    private void write(List<Object[]> rows) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionOperations.executeWithoutResult(status -> insert(rows));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> pending = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Object[]> created = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // a REQUIRES_NEW transaction suspends this one and collects entries of its own
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(ChangeLogWriter.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(ChangeLogWriter.this, created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLogWriter.this);
+                }
+            });
+
+            // Hibernate runs this after its last flush, so entries appended by the entity listeners
+            // during that flush are still written
+            entityManager.unwrap(SessionImplementor.class).getActionQueue()
+                    .registerProcess(session -> insert(created));
+            pending = created;
+        }
+        pending.addAll(rows);
+    }
+
+    // the counter row stays locked until commit, so the next transaction only reserves its range once this
+    // one is visible; a poller can therefore never pass a sequence that is still going to appear
+    private void insert(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.update(RESERVE_SQL, rows.size());
+        long last = jdbcTemplate.queryForObject("SELECT last_sequence FROM change_log_sequence", Long.class);
+
+        long sequence = last - rows.size();
+        List<Object[]> numbered = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Object[] values = new Object[row.length + 1];
+            values[0] = ++sequence;
+            System.arraycopy(row, 0, values, 1, row.length);
+            numbered.add(values);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, numbered);
+    }
+
+    private Object[] row(String entityType, Long entityId, Long categoryId, String source, Timestamp now) {
+        return new Object[]{entityType, entityId, categoryId, ChangeOperation.BULK.name(), source, now};
+    }
+}
@@ -0,0 +1,10 @@
+package com.spring.data.jpa.changelog;
+
+public enum ChangeOperation {
+
+    INSERT,
+    UPDATE,
+    DELETE,
+    // rows touched by a set-based statement; re-read the id, or the whole category or table when it is null
+    BULK
+}
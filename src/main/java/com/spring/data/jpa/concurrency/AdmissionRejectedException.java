@@ -0,0 +1,10 @@
+package com.spring.data.jpa.concurrency;
+
+public class AdmissionRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AdmissionRejectedException(String message) {
+        super(message);
+    }
+}
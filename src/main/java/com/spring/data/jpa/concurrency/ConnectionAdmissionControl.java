@@ -0,0 +1,123 @@
+package com.spring.data.jpa.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class ConnectionAdmissionControl {
+
+    private final Semaphore permits;
+
+    private final int maxPermits;
+
+    private final Duration timeout;
+
+    private final Counter rejected;
+
+    private final ThreadLocal<Boolean> held = new ThreadLocal<>();
+
+    public ConnectionAdmissionControl(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxPermits,
+                                      @Value("${admission.timeout:5s}") Duration timeout,
+                                      MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.timeout = timeout;
+
+        Gauge.builder("admission.permits.available", permits, Semaphore::availablePermits).register(meterRegistry);
+        Gauge.builder("admission.waiting", permits, Semaphore::getQueueLength).register(meterRegistry);
+        this.rejected = Counter.builder("admission.rejected").register(meterRegistry);
+    }
+
+    // the permit belongs to the calling thread until release, which lets work it starts run under it
+    public boolean tryAcquire() throws InterruptedException {
+        if (permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            held.set(Boolean.TRUE);
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void release() {
+        held.remove();
+        permits.release();
+    }
+
+    public boolean isHeldByCurrentThread() {
+        return held.get() != null;
+    }
+
+    public <T> T call(Callable<T> callable) throws Exception {
+        if (isHeldByCurrentThread()) {
+            return callable.call();
+        }
+        if (!tryAcquire()) {
+            throw new AdmissionRejectedException("No database permit available within " + timeout);
+        }
+        try {
+            return callable.call();
+        } finally {
+            release();
+        }
+    }
+
+    // the permit is taken inside the task, so a rejection fails the returned future instead of losing the task.
+    // Every task takes a permit of its own, even one submitted by a permit holder, so fanning out never puts
+    // more work on the database than the pool has connections; a holder waits for its tasks through await
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call(supplier::get);
+            } catch (RuntimeException exception) {
+                throw exception;
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new AdmissionRejectedException("Interrupted while waiting for a database permit");
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        }, executor);
+    }
+
+    public CompletableFuture<Void> runAsync(Runnable runnable, Executor executor) {
+        return supplyAsync(() -> {
+            runnable.run();
+            return null;
+        }, executor);
+    }
+
+    // a holder gives its permit back while it blocks, otherwise its tasks deadlock once every permit is held by
+    // a waiting submitter; it queues for a permit again before it goes on with its own database work
+    public <T> T await(CompletableFuture<T> future) {
+        if (!isHeldByCurrentThread()) {
+            return future.join();
+        }
+
+        release();
+        try {
+            return future.join();
+        } finally {
+            permits.acquireUninterruptibly();
+            held.set(Boolean.TRUE);
+        }
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
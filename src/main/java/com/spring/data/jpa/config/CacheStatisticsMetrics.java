@@ -0,0 +1,53 @@
+package com.spring.data.jpa.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+@Component
+public class CacheStatisticsMetrics implements MeterBinder {
+
+    private static final List<String> REGIONS = List.of("categories", "category-queries", "product-category-queries");
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : REGIONS) {
+            FunctionCounter.builder("cache.region.gets", this, metrics -> metrics.read(region, "CacheHits"))
+                    .tag("region", region).tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.region.gets", this, metrics -> metrics.read(region, "CacheMisses"))
+                    .tag("region", region).tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.region.evictions", this, metrics -> metrics.read(region, "CacheEvictions"))
+                    .tag("region", region)
+                    .register(registry);
+            Gauge.builder("cache.region.hit.ratio", this, metrics -> metrics.read(region, "CacheHitPercentage") / 100)
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    // statistics MBeans are registered by the JCache provider once Hibernate creates the region
+    private double read(String region, String attribute) {
+        try {
+            ObjectName pattern = new ObjectName("javax.cache:type=CacheStatistics,CacheManager=*,Cache=" + region);
+
+            double total = 0;
+            for (ObjectName name : server.queryNames(pattern, null)) {
+                total += ((Number) server.getAttribute(name, attribute)).doubleValue();
+            }
+            return total;
+        } catch (Exception exception) {
+            return Double.NaN;
+        }
+    }
+}
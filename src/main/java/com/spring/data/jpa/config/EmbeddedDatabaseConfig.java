@@ -0,0 +1,65 @@
+package com.spring.data.jpa.config;
+
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@Configuration
+@Profile("embedded")
+@EnableConfigurationProperties(SqlInitializationProperties.class)
+public class EmbeddedDatabaseConfig {
+
+    // statements that pick or list databases, which H2 has no use for
+    private static final Pattern DATABASE_STATEMENT =
+            Pattern.compile("^\\s*(CREATE DATABASE|USE|SHOW)\\b[^;]*;", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+
+    // MySQL names a foreign key as FOREIGN KEY name (column), H2 only takes CONSTRAINT name FOREIGN KEY (column)
+    private static final Pattern NAMED_FOREIGN_KEY =
+            Pattern.compile("FOREIGN KEY\\s+(\\w+)\\s*\\(", Pattern.CASE_INSENSITIVE);
+
+    // the embedded database runs database.sql itself, so the schema cannot drift from the MySQL one;
+    // H2 in MySQL mode takes the rest of it, ENGINE clauses included
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer dataSourceScriptDatabaseInitializer(
+            DataSource dataSource, SqlInitializationProperties properties) {
+        return new SqlDataSourceScriptDatabaseInitializer(dataSource, properties) {
+            @Override
+            protected void runScripts(Scripts scripts) {
+                Charset encoding = scripts.getEncoding() == null ? StandardCharsets.UTF_8 : scripts.getEncoding();
+                List<Resource> rewritten = new ArrayList<>();
+                for (Resource script : scripts) {
+                    rewritten.add(forH2(script, encoding));
+                }
+
+                super.runScripts(new Scripts(rewritten)
+                        .continueOnError(scripts.isContinueOnError())
+                        .separator(scripts.getSeparator())
+                        .encoding(encoding));
+            }
+        };
+    }
+
+    private static Resource forH2(Resource script, Charset encoding) {
+        try {
+            String sql = DATABASE_STATEMENT.matcher(script.getContentAsString(encoding)).replaceAll("");
+            sql = NAMED_FOREIGN_KEY.matcher(sql).replaceAll("CONSTRAINT $1 FOREIGN KEY (");
+            return new ByteArrayResource(sql.getBytes(encoding), script.getDescription());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
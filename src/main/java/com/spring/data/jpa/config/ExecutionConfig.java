@@ -0,0 +1,45 @@
+package com.spring.data.jpa.config;
+
+import com.spring.data.jpa.concurrency.AdmissionControlFilter;
+import com.spring.data.jpa.concurrency.ConnectionAdmissionControl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutionConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            ConnectionAdmissionControl admissionControl,
+            @Value("${admission.url-patterns:/products/*}") String[] urlPatterns) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(admissionControl));
+        registration.addUrlPatterns(urlPatterns);
+        return registration;
+    }
+
+    // tasks are submitted through ConnectionAdmissionControl.supplyAsync/runAsync, which take the permit inside
+    // the task, so waiting costs a parked virtual thread rather than a pool thread
+    @Bean
+    public AsyncTaskExecutor repositoryExecutor(ConnectionAdmissionControl admissionControl,
+                                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("repository-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("repository-");
+        executor.setCorePoolSize(admissionControl.getMaxPermits());
+        executor.setMaxPoolSize(admissionControl.getMaxPermits());
+        executor.setQueueCapacity(10_000);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,20 @@
+package com.spring.data.jpa.config;
+
+import com.spring.data.jpa.monitoring.EntityLoadCounter;
+import com.spring.data.jpa.monitoring.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer monitoringPropertiesCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+            properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCounter());
+        };
+    }
+}
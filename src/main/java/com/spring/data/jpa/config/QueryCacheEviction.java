@@ -0,0 +1,35 @@
+package com.spring.data.jpa.config;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.event.BulkModificationEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class QueryCacheEviction {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public QueryCacheEviction(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // plain JDBC writes do not touch the update timestamps, so Hibernate would keep serving cached
+    // lookups; evicting only once the transaction is over keeps a concurrent lookup from caching the
+    // pre-commit result again, and evicting after a rollback drops results read from uncommitted rows
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onBulkModification(BulkModificationEvent event) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (event.domainType() == Category.class) {
+            cache.evictQueryRegion("category-queries");
+        }
+        if (event.domainType() == Product.class || event.domainType() == Category.class) {
+            cache.evictQueryRegion("product-category-queries");
+        }
+    }
+}
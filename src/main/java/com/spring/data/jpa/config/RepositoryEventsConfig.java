@@ -0,0 +1,28 @@
+package com.spring.data.jpa.config;
+
+import com.spring.data.jpa.event.ModifyingQueryInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class RepositoryEventsConfig {
+
+    @Bean
+    public static BeanPostProcessor modifyingQueryEventsPostProcessor(ApplicationEventPublisher publisher) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    new ModifyingQueryInterceptor(publisher, information.getDomainType()))
+                    ));
+                }
+                return bean;
+            }
+        };
+    }
+}
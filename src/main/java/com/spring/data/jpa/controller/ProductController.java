@@ -0,0 +1,36 @@
+package com.spring.data.jpa.controller;
+
+import com.spring.data.jpa.model.ProductPrice;
+import com.spring.data.jpa.model.SimpleProduct;
+import com.spring.data.jpa.price.ProductPriceIndex;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class ProductController {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductPriceIndex productPriceIndex;
+
+    @GetMapping("/products")
+    public List<SimpleProduct> findAllByCategory(@RequestParam("category") String category) {
+        return productRepository.findSimpleProductsByCategoryName(category);
+    }
+
+    @GetMapping("/products/{id}/price")
+    public ResponseEntity<ProductPrice> findPrice(@PathVariable("id") Long id) {
+        return productPriceIndex.find(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
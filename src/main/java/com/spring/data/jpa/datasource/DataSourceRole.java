@@ -0,0 +1,7 @@
+package com.spring.data.jpa.datasource;
+
+public enum DataSourceRole {
+
+    PRIMARY,
+    REPLICA
+}
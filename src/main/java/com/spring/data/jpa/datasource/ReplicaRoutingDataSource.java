@@ -0,0 +1,42 @@
+package com.spring.data.jpa.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Long> LAST_WRITE = new ThreadLocal<>();
+
+    private final long stickinessNanos;
+
+    public ReplicaRoutingDataSource(Duration stickiness) {
+        this.stickinessNanos = stickiness.toNanos();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // connections taken outside a transaction are usually plain reads, they must not pin the thread
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                LAST_WRITE.set(System.nanoTime());
+            }
+            return DataSourceRole.PRIMARY;
+        }
+
+        // read your own writes: a replica may still lag behind what this thread just committed
+        Long lastWrite = LAST_WRITE.get();
+        if (lastWrite != null) {
+            if (System.nanoTime() - lastWrite < stickinessNanos) {
+                return DataSourceRole.PRIMARY;
+            }
+            LAST_WRITE.remove();
+        }
+        return DataSourceRole.REPLICA;
+    }
+
+    public static void resetStickiness() {
+        LAST_WRITE.remove();
+    }
+}
@@ -1,13 +1,17 @@
 package com.spring.data.jpa.entity;
 
+import com.spring.data.jpa.audit.AuditListener;
+import com.spring.data.jpa.changelog.ChangeLogListener;
+import com.spring.data.jpa.search.ProductSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
 import java.util.List;
@@ -18,8 +22,12 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @EntityListeners({
-        AuditingEntityListener.class
+        AuditListener.class,
+        ProductSearchIndexListener.class,
+        ChangeLogListener.class
 })
 public class Category {
 
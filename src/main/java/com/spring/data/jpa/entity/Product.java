@@ -1,5 +1,9 @@
 package com.spring.data.jpa.entity;
 
+import com.spring.data.jpa.changelog.ChangeLogListener;
+import com.spring.data.jpa.price.ProductPriceIndexListener;
+import com.spring.data.jpa.search.ProductSearchIndexListener;
+import com.spring.data.jpa.stats.CategoryStatsListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -12,6 +16,13 @@ import lombok.Setter;
 @NoArgsConstructor
 @Entity
 @Table(name = "products")
+@EntityListeners({
+        ProductSearchIndexListener.class,
+        CategoryStatsListener.class,
+        ChangeLogListener.class,
+        ProductPriceIndexListener.class
+})
+@NamedEntityGraph(name = "Product.category", attributeNodes = @NamedAttributeNode("category"))
 @NamedQueries({
         @NamedQuery(name = "Product.searchProductUsingName",
                     query = "SELECT p FROM Product p WHERE p.name = :name"),
@@ -26,7 +37,16 @@ public class Product {
 
     private Long price;
 
-    @ManyToOne
+    @Version
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", referencedColumnName = "id")
     private Category category;
+
+    @Transient
+    private Long loadedPrice;
+
+    @Transient
+    private Long loadedCategoryId;
 }
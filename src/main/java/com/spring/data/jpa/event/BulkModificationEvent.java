@@ -0,0 +1,35 @@
+package com.spring.data.jpa.event;
+
+import java.util.Collection;
+import java.util.List;
+
+// priceOnly is set by the publisher of a statement that rewrites prices and nothing else,
+// so names and category membership stay as they were
+public record BulkModificationEvent(Class<?> domainType, String operation,
+                                    Collection<Long> ids, Collection<Long> categoryIds, boolean priceOnly) {
+
+    public BulkModificationEvent(Class<?> domainType, String operation,
+                                 Collection<Long> ids, Collection<Long> categoryIds) {
+        this(domainType, operation, ids, categoryIds, false);
+    }
+
+    public static BulkModificationEvent unknownRows(Class<?> domainType, String operation) {
+        return new BulkModificationEvent(domainType, operation, null, null);
+    }
+
+    public static BulkModificationEvent ofIds(Class<?> domainType, String operation, Collection<Long> ids) {
+        return new BulkModificationEvent(domainType, operation, List.copyOf(ids), null);
+    }
+
+    public BulkModificationEvent asPriceOnly() {
+        return new BulkModificationEvent(domainType, operation, ids, categoryIds, true);
+    }
+
+    public boolean hasIds() {
+        return ids != null;
+    }
+
+    public boolean hasCategoryIds() {
+        return categoryIds != null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.spring.data.jpa.event;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.query.Param;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class ModifyingQueryInterceptor implements MethodInterceptor {
+
+    private final ApplicationEventPublisher publisher;
+
+    private final Class<?> domainType;
+
+    public ModifyingQueryInterceptor(ApplicationEventPublisher publisher, Class<?> domainType) {
+        this.publisher = publisher;
+        this.domainType = domainType;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+
+        Method method = invocation.getMethod();
+        if (AnnotatedElementUtils.hasAnnotation(method, Modifying.class)) {
+            BulkModificationEvent event = event(method, invocation.getArguments());
+            publisher.publishEvent(AnnotatedElementUtils.hasAnnotation(method, PriceOnly.class)
+                    ? event.asPriceOnly()
+                    : event);
+        }
+        return result;
+    }
+
+    // only an explicit id/ids parameter tells which rows a JPQL statement touched
+    private BulkModificationEvent event(Method method, Object[] arguments) {
+        Parameter[] parameters = method.getParameters();
+        List<Long> ids = new ArrayList<>();
+        boolean known = false;
+
+        for (int i = 0; i < parameters.length; i++) {
+            Param param = parameters[i].getAnnotation(Param.class);
+            if (param == null) {
+                continue;
+            }
+            if (param.value().equals("id") && arguments[i] instanceof Long id) {
+                ids.add(id);
+                known = true;
+            } else if (param.value().equals("ids") && arguments[i] instanceof Collection<?> values) {
+                values.forEach(value -> ids.add((Long) value));
+                known = true;
+            }
+        }
+
+        return known
+                ? BulkModificationEvent.ofIds(domainType, method.getName(), ids)
+                : BulkModificationEvent.unknownRows(domainType, method.getName());
+    }
+}
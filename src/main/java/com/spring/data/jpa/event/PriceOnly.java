@@ -0,0 +1,10 @@
+package com.spring.data.jpa.event;
+
+import java.lang.annotation.*;
+
+// marks a @Modifying query method whose statement only rewrites prices
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PriceOnly {
+}
@@ -0,0 +1,132 @@
+package com.spring.data.jpa.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+// blocks of rows stored column by column: delta-encoded ids, zigzag varint prices, varint categories,
+// then name lengths followed by the UTF-8 name bytes; a block with zero rows ends the file
+final class ColumnarPartitionWriter implements PartitionWriter {
+
+    static final int MAGIC = 0x50434F4C;
+
+    static final int VERSION = 1;
+
+    private final FileChannel channel;
+
+    private final int blockRows;
+
+    private final long[] ids;
+
+    private final long[] prices;
+
+    private final long[] categoryIds;
+
+    private final byte[][] names;
+
+    private ByteBuffer block;
+
+    private int rows;
+
+    private long bytesWritten;
+
+    ColumnarPartitionWriter(FileChannel channel, int blockRows) throws IOException {
+        this.channel = channel;
+        this.blockRows = blockRows;
+        this.ids = new long[blockRows];
+        this.prices = new long[blockRows];
+        this.categoryIds = new long[blockRows];
+        this.names = new byte[blockRows][];
+        this.block = ByteBuffer.allocateDirect(blockRows * 32);
+
+        block.putInt(MAGIC).putInt(VERSION);
+        writeBlock();
+    }
+
+    @Override
+    public void write(long id, String name, long price, long categoryId) throws IOException {
+        ids[rows] = id;
+        prices[rows] = price;
+        categoryIds[rows] = categoryId;
+        names[rows] = name.getBytes(StandardCharsets.UTF_8);
+        if (++rows == blockRows) {
+            encode();
+        }
+    }
+
+    @Override
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (rows > 0) {
+            encode();
+        }
+        ensure(5);
+        block.putInt(0);
+        writeBlock();
+        channel.force(false);
+        channel.close();
+    }
+
+    private void encode() throws IOException {
+        int nameBytes = 0;
+        for (int i = 0; i < rows; i++) {
+            nameBytes += names[i].length;
+        }
+        ensure(4 + rows * 35 + nameBytes);
+
+        block.putInt(rows);
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            putVarLong(zigzag(ids[i] - previous));
+            previous = ids[i];
+        }
+        for (int i = 0; i < rows; i++) {
+            putVarLong(zigzag(prices[i]));
+        }
+        for (int i = 0; i < rows; i++) {
+            putVarLong(zigzag(categoryIds[i]));
+        }
+        for (int i = 0; i < rows; i++) {
+            putVarLong(names[i].length);
+        }
+        for (int i = 0; i < rows; i++) {
+            block.put(names[i]);
+            names[i] = null;
+        }
+
+        rows = 0;
+        writeBlock();
+    }
+
+    // direct, like the CSV buffer, so FileChannel.write does not copy through a temporary direct buffer
+    private void ensure(int bytes) {
+        if (block.capacity() < bytes) {
+            block = ByteBuffer.allocateDirect(bytes);
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        block.flip();
+        while (block.hasRemaining()) {
+            bytesWritten += channel.write(block);
+        }
+        block.clear();
+    }
+
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            block.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        block.put((byte) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
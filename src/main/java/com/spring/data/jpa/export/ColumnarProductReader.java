@@ -0,0 +1,80 @@
+package com.spring.data.jpa.export;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// reads files written by ColumnarPartitionWriter; partitions stay well below the 2 GB limit of a single mapping
+public final class ColumnarProductReader {
+
+    @FunctionalInterface
+    public interface RowHandler {
+
+        void row(long id, String name, long price, long categoryId);
+    }
+
+    private ColumnarProductReader() {
+    }
+
+    public static long read(Path file, RowHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != ColumnarPartitionWriter.MAGIC) {
+                throw new IOException(file + " is not a columnar product export");
+            }
+            int version = buffer.getInt();
+            if (version != ColumnarPartitionWriter.VERSION) {
+                throw new IOException("Unsupported columnar export version " + version + " in " + file);
+            }
+
+            long total = 0;
+            for (int rows = buffer.getInt(); rows > 0; rows = buffer.getInt()) {
+                long[] ids = new long[rows];
+                long[] prices = new long[rows];
+                long[] categoryIds = new long[rows];
+                int[] nameLengths = new int[rows];
+
+                long previous = 0;
+                for (int i = 0; i < rows; i++) {
+                    previous += unzigzag(getVarLong(buffer));
+                    ids[i] = previous;
+                }
+                for (int i = 0; i < rows; i++) {
+                    prices[i] = unzigzag(getVarLong(buffer));
+                }
+                for (int i = 0; i < rows; i++) {
+                    categoryIds[i] = unzigzag(getVarLong(buffer));
+                }
+                for (int i = 0; i < rows; i++) {
+                    nameLengths[i] = (int) getVarLong(buffer);
+                }
+                for (int i = 0; i < rows; i++) {
+                    byte[] name = new byte[nameLengths[i]];
+                    buffer.get(name);
+                    handler.row(ids[i], new String(name, StandardCharsets.UTF_8), prices[i], categoryIds[i]);
+                }
+                total += rows;
+            }
+            return total;
+        }
+    }
+
+    private static long getVarLong(MappedByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,83 @@
+package com.spring.data.jpa.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+final class CsvPartitionWriter implements PartitionWriter {
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final StringBuilder line = new StringBuilder(128);
+
+    private long bytesWritten;
+
+    CsvPartitionWriter(FileChannel channel, int bufferSize) throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        put("id,name,price,category_id\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void write(long id, String name, long price, long categoryId) throws IOException {
+        line.setLength(0);
+        line.append(id).append(',');
+        appendQuoted(name);
+        line.append(',').append(price).append(',').append(categoryId).append('\n');
+        put(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public long bytesWritten() {
+        return bytesWritten + buffer.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.force(false);
+        channel.close();
+    }
+
+    // RFC 4180: quote only when needed, doubling embedded quotes
+    private void appendQuoted(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > buffer.capacity()) {
+            ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+            while (wrapped.hasRemaining()) {
+                bytesWritten += channel.write(wrapped);
+            }
+            return;
+        }
+        buffer.put(bytes);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
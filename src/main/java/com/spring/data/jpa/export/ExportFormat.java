@@ -0,0 +1,17 @@
+package com.spring.data.jpa.export;
+
+public enum ExportFormat {
+
+    CSV("csv"),
+    COLUMNAR("pcol");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,11 @@
+package com.spring.data.jpa.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+interface PartitionWriter extends Closeable {
+
+    void write(long id, String name, long price, long categoryId) throws IOException;
+
+    long bytesWritten();
+}
@@ -0,0 +1,283 @@
+package com.spring.data.jpa.export;
+
+import com.spring.data.jpa.concurrency.ConnectionAdmissionControl;
+import com.spring.data.jpa.model.ExportProgress;
+import com.spring.data.jpa.model.ExportResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Component
+public class ProductExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductExportService.class);
+
+    private static final String RANGE_SQL = "SELECT MIN(id), MAX(id) FROM products";
+
+    private static final String SELECT_SQL =
+            "SELECT id, name, price, category_id FROM products WHERE id >= ? AND id < ? ORDER BY id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("repositoryExecutor")
+    private AsyncTaskExecutor repositoryExecutor;
+
+    @Autowired
+    private ConnectionAdmissionControl admissionControl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${export.partitions:0}")
+    private int partitions;
+
+    @Value("${export.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${export.block-rows:4096}")
+    private int blockRows;
+
+    @Value("${product.stream.fetch-size:1000}")
+    private int fetchSize;
+
+    private final Map<ExportFormat, Counter> rowCounters = new ConcurrentHashMap<>();
+
+    private final Map<ExportFormat, Counter> byteCounters = new ConcurrentHashMap<>();
+
+    public ExportResult export(Path directory, ExportFormat format) {
+        return export(directory, format, progress -> {
+        });
+    }
+
+    // the listener is called from the partition threads, once per finished partition
+    public ExportResult export(Path directory, ExportFormat format, Consumer<ExportProgress> listener) {
+        long start = System.nanoTime();
+        List<long[]> ranges = plan(directory, format);
+
+        AtomicLong rows = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        AtomicInteger done = new AtomicInteger();
+        int skipped = 0;
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(ranges.size());
+        for (int partition = 0; partition < ranges.size(); partition++) {
+            Path target = directory.resolve(fileName(partition, format));
+            if (Files.exists(target)) {
+                skipped++;
+                done.incrementAndGet();
+                continue;
+            }
+
+            long[] range = ranges.get(partition);
+            futures.add(admissionControl.runAsync(() -> {
+                long[] written = exportPartition(range[0], range[1], target, format);
+                listener.accept(new ExportProgress(done.incrementAndGet(), ranges.size(),
+                        rows.addAndGet(written[0]), bytes.addAndGet(written[1]),
+                        Duration.ofNanos(System.nanoTime() - start)));
+            }, repositoryExecutor));
+        }
+
+        try {
+            admissionControl.await(CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)));
+        } catch (CompletionException exception) {
+            // finished partitions keep their files, so calling export again only redoes the failed ones
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+
+        ExportResult result = new ExportResult(format, ranges.size(), skipped, rows.get(), bytes.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info("Exported {} rows ({} bytes) as {} in {}: {} rows/s, {} MB/s, {} of {} partitions resumed",
+                result.rows(), result.bytes(), format, result.elapsed(), Math.round(result.rowsPerSecond()),
+                String.format("%.1f", result.megabytesPerSecond()), skipped, ranges.size());
+        return result;
+    }
+
+    public static String fileName(int partition, ExportFormat format) {
+        return String.format("products-%05d.%s", partition, format.getExtension());
+    }
+
+    // each partition streams its id range inside its own read-only transaction, so it holds exactly one connection
+    private long[] exportPartition(long fromId, long toId, Path target, ExportFormat format) {
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(fetchSize);
+
+        long[] written;
+        try {
+            written = template.execute(status -> {
+                try {
+                    return writePartition(streaming, fromId, toId, temporary, format);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+
+            // a file under its final name is always complete, which is what makes resuming safe
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            deleteQuietly(temporary, exception);
+            throw new UncheckedIOException(exception);
+        } catch (RuntimeException | Error exception) {
+            // a half-written partition is redone from scratch on the next run
+            deleteQuietly(temporary, exception);
+            throw exception;
+        }
+
+        sample.stop(Timer.builder("export.partition").tag("format", format.name()).register(meterRegistry));
+        rowCounters.computeIfAbsent(format, key -> counter("export.rows", key)).increment(written[0]);
+        byteCounters.computeIfAbsent(format, key -> counter("export.bytes", key)).increment(written[1]);
+        return written;
+    }
+
+    private void deleteQuietly(Path temporary, Throwable failure) {
+        try {
+            Files.deleteIfExists(temporary);
+        } catch (IOException exception) {
+            failure.addSuppressed(exception);
+        }
+    }
+
+    private long[] writePartition(JdbcTemplate streaming, long fromId, long toId, Path file, ExportFormat format)
+            throws IOException {
+        long[] rows = new long[1];
+        PartitionWriter writer = open(file, format);
+        try (writer) {
+            streaming.query(SELECT_SQL, resultSet -> {
+                try {
+                    writer.write(resultSet.getLong(1), resultSet.getString(2),
+                            resultSet.getLong(3), resultSet.getLong(4));
+                    rows[0]++;
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            }, fromId, toId);
+        }
+        return new long[]{rows[0], writer.bytesWritten()};
+    }
+
+    private PartitionWriter open(Path file, ExportFormat format) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return switch (format) {
+            case CSV -> new CsvPartitionWriter(channel, bufferSize);
+            case COLUMNAR -> new ColumnarPartitionWriter(channel, blockRows);
+        };
+    }
+
+    // the id ranges are fixed by the first run and read back from the manifest when resuming,
+    // so a partition file always covers the same rows even if the table grew in between
+    private List<long[]> plan(Path directory, ExportFormat format) {
+        Path manifest = directory.resolve("products-" + format.getExtension() + ".manifest");
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(manifest)) {
+                return readManifest(manifest);
+            }
+
+            List<long[]> ranges = split();
+            writeManifest(manifest, ranges);
+            return ranges;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    // equal-width id ranges; auto-increment ids are dense enough that row counts stay close
+    private List<long[]> split() {
+        long[] bounds = jdbcTemplate.queryForObject(RANGE_SQL,
+                (resultSet, rowNum) -> new long[]{resultSet.getLong(1), resultSet.getLong(2)});
+        List<long[]> ranges = new ArrayList<>();
+        if (bounds == null || bounds[1] == 0) {
+            return ranges;
+        }
+
+        long minId = bounds[0];
+        long maxId = bounds[1];
+        long count = Math.min(partitions > 0 ? partitions : admissionControl.getMaxPermits(), maxId - minId + 1);
+        long width = (maxId - minId) / count + 1;
+        for (long from = minId; from <= maxId; from += width) {
+            ranges.add(new long[]{from, Math.min(from + width, maxId + 1)});
+        }
+        return ranges;
+    }
+
+    private List<long[]> readManifest(Path manifest) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(manifest)) {
+            properties.load(reader);
+        }
+
+        int count = Integer.parseInt(properties.getProperty("partitions"));
+        List<long[]> ranges = new ArrayList<>(count);
+        for (int partition = 0; partition < count; partition++) {
+            String[] range = properties.getProperty("partition." + partition).split(",");
+            ranges.add(new long[]{Long.parseLong(range[0]), Long.parseLong(range[1])});
+        }
+        return ranges;
+    }
+
+    private void writeManifest(Path manifest, List<long[]> ranges) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("partitions", String.valueOf(ranges.size()));
+        for (int partition = 0; partition < ranges.size(); partition++) {
+            long[] range = ranges.get(partition);
+            properties.setProperty("partition." + partition, range[0] + "," + range[1]);
+        }
+
+        Path temporary = manifest.resolveSibling(manifest.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary)) {
+            properties.store(writer, "id ranges as [from,to)");
+        }
+        Files.move(temporary, manifest, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Counter counter(String name, ExportFormat format) {
+        return Counter.builder(name).tag("format", format.name()).register(meterRegistry);
+    }
+}
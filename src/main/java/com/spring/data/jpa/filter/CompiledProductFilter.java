@@ -0,0 +1,27 @@
+package com.spring.data.jpa.filter;
+
+import com.spring.data.jpa.model.ProductFilter;
+import com.spring.data.jpa.model.ProductFilterShape;
+import jakarta.persistence.Query;
+
+public record CompiledProductFilter(ProductFilterShape shape, String selectJpql, String countJpql) {
+
+    public <T extends Query> T bind(T query, ProductFilter filter) {
+        if (shape.names()) {
+            query.setParameter("names", filter.names());
+        }
+        if (shape.nameContains()) {
+            query.setParameter("nameContains", filter.nameContainsPattern());
+        }
+        if (shape.minPrice()) {
+            query.setParameter("minPrice", filter.minPrice());
+        }
+        if (shape.maxPrice()) {
+            query.setParameter("maxPrice", filter.maxPrice());
+        }
+        if (shape.categoryIds()) {
+            query.setParameter("categoryIds", filter.categoryIds());
+        }
+        return query;
+    }
+}
@@ -0,0 +1,132 @@
+package com.spring.data.jpa.filter;
+
+import com.spring.data.jpa.model.ProductFilterShape;
+import com.spring.data.jpa.model.ProductSortKey;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.hql.HqlTranslator;
+import org.hibernate.query.spi.QueryEngine;
+import org.hibernate.query.sqm.tree.SqmStatement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class ProductFilterCompiler implements MeterBinder {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Map<ProductFilterShape, CompiledProductFilter> compiled = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder planHits = new LongAdder();
+
+    private final LongAdder planMisses = new LongAdder();
+
+    // one JPQL string per shape keeps Hibernate's query plan cache keyed on a small, stable set of strings
+    public CompiledProductFilter compile(ProductFilterShape shape) {
+        CompiledProductFilter filter = compiled.get(shape);
+        if (filter != null) {
+            hits.increment();
+            return filter;
+        }
+
+        misses.increment();
+        return compiled.computeIfAbsent(shape, this::build);
+    }
+
+    public int size() {
+        return compiled.size();
+    }
+
+    public double hitRatio() {
+        return ratio(hits.sum(), misses.sum());
+    }
+
+    // resolves the JPQL through Hibernate's interpretation cache before creating the query, which then
+    // finds it there; the translator only runs on a miss, so lookups are counted without Hibernate statistics
+    public <T> TypedQuery<T> createQuery(EntityManager entityManager, String jpql, Class<T> resultType) {
+        QueryEngine queryEngine = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getQueryEngine();
+        HqlTranslator translator = queryEngine.getHqlTranslator();
+        boolean[] translated = new boolean[1];
+
+        queryEngine.getInterpretationCache().resolveHqlInterpretation(jpql, resultType, new HqlTranslator() {
+            @Override
+            public <R> SqmStatement<R> translate(String hql, Class<R> expectedResultType) {
+                translated[0] = true;
+                return translator.translate(hql, expectedResultType);
+            }
+        });
+        (translated[0] ? planMisses : planHits).increment();
+
+        return entityManager.createQuery(jpql, resultType);
+    }
+
+    public double planCacheHitRatio() {
+        return ratio(planHits.sum(), planMisses.sum());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("product.filter.compilations", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("product.filter.compilations", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("product.filter.shapes", this, ProductFilterCompiler::size)
+                .register(registry);
+        Gauge.builder("product.filter.plan.cache.hit.ratio", this, ProductFilterCompiler::planCacheHitRatio)
+                .register(registry);
+    }
+
+    private CompiledProductFilter build(ProductFilterShape shape) {
+        List<String> conditions = new ArrayList<>();
+        if (shape.names()) {
+            conditions.add("p.name IN :names");
+        }
+        if (shape.nameContains()) {
+            conditions.add("LOWER(p.name) LIKE :nameContains");
+        }
+        if (shape.minPrice()) {
+            conditions.add("p.price >= :minPrice");
+        }
+        if (shape.maxPrice()) {
+            conditions.add("p.price <= :maxPrice");
+        }
+        if (shape.categoryIds()) {
+            conditions.add("p.category.id IN :categoryIds");
+        }
+
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        String order = shape.sortKey() == ProductSortKey.ID
+                ? " ORDER BY p.id"
+                : " ORDER BY p." + shape.sortKey().getProperty() + ", p.id";
+
+        return new CompiledProductFilter(
+                shape,
+                "SELECT p FROM Product p" + where + order,
+                "SELECT COUNT(p) FROM Product p" + where
+        );
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
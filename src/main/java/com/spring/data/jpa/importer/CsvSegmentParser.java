@@ -0,0 +1,163 @@
+package com.spring.data.jpa.importer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// RFC 4180 fields, but segments are split on raw newlines, so quoted values must not contain line breaks
+final class CsvSegmentParser {
+
+    static final int MAX_NAME_LENGTH = 100;
+
+    private final int columns;
+
+    private final int nameColumn;
+
+    private final int priceColumn;
+
+    private final int categoryColumn;
+
+    private CsvSegmentParser(int columns, int nameColumn, int priceColumn, int categoryColumn) {
+        this.columns = columns;
+        this.nameColumn = nameColumn;
+        this.priceColumn = priceColumn;
+        this.categoryColumn = categoryColumn;
+    }
+
+    static CsvSegmentParser forHeader(String header) {
+        List<String> names = new ArrayList<>();
+        for (String column : header.replace("\uFEFF", "").split(",", -1)) {
+            names.add(column.replace("\"", "").trim().toLowerCase());
+        }
+
+        int name = names.indexOf("name");
+        int price = names.indexOf("price");
+        int category = names.indexOf("category");
+        if (name < 0 || price < 0 || category < 0) {
+            throw new IllegalArgumentException("CSV header must contain name, price and category columns: " + header);
+        }
+        return new CsvSegmentParser(names.size(), name, price, category);
+    }
+
+    ParsedSegment parse(int index, ByteBuffer buffer) {
+        List<ParsedSegment.Row> rows = new ArrayList<>();
+        List<ParsedSegment.Rejection> rejections = new ArrayList<>();
+        byte[] line = new byte[256];
+        byte[] scratch = new byte[256];
+        int lines = 0;
+
+        while (buffer.hasRemaining()) {
+            int length = 0;
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    break;
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = b;
+            }
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            lines++;
+            if (length == 0) {
+                continue;
+            }
+
+            if (scratch.length < length) {
+                scratch = new byte[line.length];
+            }
+            List<String> fields = split(line, length, scratch);
+            String reason = fields == null ? "malformed quoting" : validate(fields);
+            if (reason != null) {
+                rejections.add(new ParsedSegment.Rejection(index, lines, reason,
+                        new String(line, 0, length, StandardCharsets.UTF_8)));
+                continue;
+            }
+            rows.add(new ParsedSegment.Row(lines, fields.get(nameColumn).trim(),
+                    Long.parseLong(fields.get(priceColumn).trim()), fields.get(categoryColumn).trim()));
+        }
+
+        return new ParsedSegment(index, rows, rejections, lines);
+    }
+
+    private String validate(List<String> fields) {
+        if (fields.size() != columns) {
+            return "expected " + columns + " columns but found " + fields.size();
+        }
+
+        String name = fields.get(nameColumn).trim();
+        if (name.isEmpty()) {
+            return "name is empty";
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            return "name is longer than " + MAX_NAME_LENGTH + " characters";
+        }
+
+        String category = fields.get(categoryColumn).trim();
+        if (category.isEmpty()) {
+            return "category is empty";
+        }
+        if (category.length() > MAX_NAME_LENGTH) {
+            return "category is longer than " + MAX_NAME_LENGTH + " characters";
+        }
+
+        String price = fields.get(priceColumn).trim();
+        try {
+            if (Long.parseLong(price) < 0) {
+                return "price is negative";
+            }
+        } catch (NumberFormatException exception) {
+            return "price is not a whole number: " + price;
+        }
+        return null;
+    }
+
+    // returns null when a quoted field is not closed or not followed by a separator
+    private List<String> split(byte[] line, int length, byte[] scratch) {
+        List<String> fields = new ArrayList<>(columns);
+        int position = 0;
+
+        while (true) {
+            if (position < length && line[position] == '"') {
+                int size = 0;
+                position++;
+                while (true) {
+                    if (position >= length) {
+                        return null;
+                    }
+                    byte b = line[position++];
+                    if (b == '"') {
+                        if (position < length && line[position] == '"') {
+                            position++;
+                        } else {
+                            break;
+                        }
+                    }
+                    scratch[size++] = b;
+                }
+                fields.add(new String(scratch, 0, size, StandardCharsets.UTF_8));
+                if (position == length) {
+                    return fields;
+                }
+                if (line[position] != ',') {
+                    return null;
+                }
+            } else {
+                int start = position;
+                while (position < length && line[position] != ',') {
+                    position++;
+                }
+                fields.add(new String(line, start, position - start, StandardCharsets.UTF_8));
+                if (position == length) {
+                    return fields;
+                }
+            }
+            position++;
+        }
+    }
+}
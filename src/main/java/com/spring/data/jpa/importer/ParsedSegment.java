@@ -0,0 +1,13 @@
+package com.spring.data.jpa.importer;
+
+import java.util.List;
+
+// line numbers are relative to the segment until every earlier segment has been counted
+record ParsedSegment(int index, List<Row> rows, List<Rejection> rejections, int lines) {
+
+    record Row(int line, String name, long price, String category) {
+    }
+
+    record Rejection(int segment, int line, String reason, String content) {
+    }
+}
@@ -0,0 +1,389 @@
+package com.spring.data.jpa.importer;
+
+import com.spring.data.jpa.concurrency.AdmissionRejectedException;
+import com.spring.data.jpa.concurrency.ConnectionAdmissionControl;
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ImportResult;
+import com.spring.data.jpa.model.RejectedRow;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    private static final String CATEGORY_SQL = "SELECT id, name FROM categories ORDER BY id";
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("repositoryExecutor")
+    private AsyncTaskExecutor repositoryExecutor;
+
+    @Autowired
+    private ConnectionAdmissionControl admissionControl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${import.segment-size:32MB}")
+    private DataSize segmentSize;
+
+    @Value("${import.parallelism:0}")
+    private int parallelism;
+
+    @Value("${import.retries:3}")
+    private int retries;
+
+    @Value("${import.retry-backoff:100ms}")
+    private Duration retryBackoff;
+
+    @Value("${bulk.chunk-size:500}")
+    private int chunkSize;
+
+    public ImportResult importCsv(Path file) {
+        return importCsv(file, file.resolveSibling(file.getFileName() + ".rejected.csv"));
+    }
+
+    // expects a header with name, price and category columns; categories are matched by exact name
+    public ImportResult importCsv(Path file, Path rejectedReport) {
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(admissionControl.getMaxPermits() * 2);
+        jdbcTemplate.query(CATEGORY_SQL, resultSet -> {
+            run.categories.putIfAbsent(resultSet.getString(2), reference(resultSet.getLong(1)));
+        });
+
+        ForkJoinPool parsers = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        List<ParsedSegment> segments;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long dataStart = lineEnd(channel, 0);
+            CsvSegmentParser parser = CsvSegmentParser.forHeader(readHeader(channel, dataStart));
+
+            List<CompletableFuture<ParsedSegment>> parsing = new ArrayList<>();
+            int index = 0;
+            for (long from = dataStart; from < channel.size(); index++) {
+                long to = Math.min(from + segmentSize.toBytes(), channel.size());
+                if (to < channel.size()) {
+                    to = lineEnd(channel, to);
+                }
+
+                int segment = index;
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+                parsing.add(CompletableFuture
+                        .supplyAsync(() -> parser.parse(segment, buffer), parsers)
+                        .thenApply(parsed -> write(run, parsed)));
+                from = to;
+            }
+
+            segments = join(parsing);
+            join(new ArrayList<>(run.writes));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            parsers.shutdown();
+        }
+
+        List<RejectedRow> rejected = rejectedRows(run, segments);
+        long rows = run.imported.get() + rejected.size();
+        ImportResult result = new ImportResult(rows, run.imported.get(), rejected.size(), run.categoriesCreated,
+                run.chunks.get(), run.retries.get(), Duration.ofNanos(System.nanoTime() - start),
+                report(rejectedReport, rejected));
+
+        counter("imported").increment(result.imported());
+        counter("rejected").increment(result.rejected());
+        log.info("Imported {} of {} rows from {} in {} ({} rows/s), {} categories created, {} chunk retries",
+                result.imported(), result.rows(), file, result.elapsed(), Math.round(result.rowsPerSecond()),
+                result.categoriesCreated(), result.retries());
+        return result;
+    }
+
+    // runs on the parser thread: missing categories first, then the rows in chunks, throttled by pending writes
+    private ParsedSegment write(ImportRun run, ParsedSegment parsed) {
+        Set<String> names = new LinkedHashSet<>();
+        for (ParsedSegment.Row row : parsed.rows()) {
+            names.add(row.category());
+        }
+        createMissingCategories(run, names);
+
+        List<ParsedSegment.Row> rows = parsed.rows();
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<ParsedSegment.Row> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            run.pending.acquireUninterruptibly();
+            run.chunks.incrementAndGet();
+            run.writes.add(submit(run, parsed.index(), chunk, 0)
+                    .whenComplete((result, exception) -> run.pending.release()));
+        }
+
+        // keep only what the report needs, the rows themselves stay reachable through their pending chunks
+        return new ParsedSegment(parsed.index(), List.of(), parsed.rejections(), parsed.lines());
+    }
+
+    // several segments can name the same new category, so creation is serialized and checked again under the lock
+    private void createMissingCategories(ImportRun run, Set<String> names) {
+        if (run.categories.keySet().containsAll(names)) {
+            return;
+        }
+
+        synchronized (run) {
+            List<Category> missing = new ArrayList<>();
+            for (String name : names) {
+                if (!run.categories.containsKey(name)) {
+                    Category category = new Category();
+                    category.setName(name);
+                    missing.add(category);
+                }
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+
+            categoryRepository.bulkInsert(missing);
+            for (Category category : missing) {
+                run.categories.put(category.getName(), reference(category.getId()));
+            }
+            run.categoriesCreated += missing.size();
+        }
+    }
+
+    // admission is decided when the task starts, so a rejected permit fails the future and means submitting again,
+    // after the same growing backoff as a failed chunk; once the retries are spent the rows are reported
+    private CompletableFuture<Void> submit(ImportRun run, int segment, List<ParsedSegment.Row> rows, int attempt) {
+        Executor executor = attempt == 0 ? repositoryExecutor : CompletableFuture.delayedExecutor(
+                retryBackoff.multipliedBy(attempt).toNanos(), TimeUnit.NANOSECONDS, repositoryExecutor);
+
+        return admissionControl.runAsync(() -> insert(run, segment, rows), executor)
+                .exceptionallyCompose(exception -> {
+                    if (!(NestedExceptionUtils.getRootCause(exception) instanceof AdmissionRejectedException)) {
+                        return CompletableFuture.failedFuture(exception);
+                    }
+                    if (attempt >= retries) {
+                        reject(run, segment, rows, "gave up after " + retries + " admission retries: "
+                                + NestedExceptionUtils.getMostSpecificCause(exception).getMessage());
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    run.retries.incrementAndGet();
+                    return submit(run, segment, rows, attempt + 1);
+                });
+    }
+
+    private void insert(ImportRun run, int segment, List<ParsedSegment.Row> rows) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                // bulkInsert is transactional on its own, so every chunk commits or rolls back by itself
+                productRepository.bulkInsert(products(run, rows));
+                run.imported.addAndGet(rows.size());
+                return;
+            } catch (TransientDataAccessException | RecoverableDataAccessException |
+                     CannotCreateTransactionException exception) {
+                if (attempt >= retries) {
+                    reject(run, segment, rows, "gave up after " + retries + " retries: " + message(exception));
+                    return;
+                }
+                run.retries.incrementAndGet();
+                pause(retryBackoff.multipliedBy(attempt + 1));
+            } catch (DataAccessException exception) {
+                // one bad row fails the whole batch, so halve the chunk until the offending rows are isolated
+                if (rows.size() == 1) {
+                    reject(run, segment, rows, message(exception));
+                    return;
+                }
+                int middle = rows.size() / 2;
+                insert(run, segment, rows.subList(0, middle));
+                insert(run, segment, rows.subList(middle, rows.size()));
+                return;
+            }
+        }
+    }
+
+    // fresh entities per attempt, a failed batch may already have assigned ids to the previous ones
+    private List<Product> products(ImportRun run, List<ParsedSegment.Row> rows) {
+        List<Product> products = new ArrayList<>(rows.size());
+        for (ParsedSegment.Row row : rows) {
+            Product product = new Product();
+            product.setName(row.name());
+            product.setPrice(row.price());
+            product.setCategory(run.categories.get(row.category()));
+            products.add(product);
+        }
+        return products;
+    }
+
+    private void reject(ImportRun run, int segment, List<ParsedSegment.Row> rows, String reason) {
+        for (ParsedSegment.Row row : rows) {
+            run.rejections.add(new ParsedSegment.Rejection(segment, row.line(), reason,
+                    row.name() + "," + row.price() + "," + row.category()));
+        }
+    }
+
+    // segment line counts are only known once every segment is parsed; the header is line 1
+    private List<RejectedRow> rejectedRows(ImportRun run, List<ParsedSegment> segments) {
+        long[] firstLine = new long[segments.size()];
+        long line = 1;
+        for (ParsedSegment segment : segments) {
+            firstLine[segment.index()] = line;
+            line += segment.lines();
+            run.rejections.addAll(segment.rejections());
+        }
+
+        List<RejectedRow> rejected = new ArrayList<>(run.rejections.size());
+        for (ParsedSegment.Rejection rejection : run.rejections) {
+            rejected.add(new RejectedRow(firstLine[rejection.segment()] + rejection.line(),
+                    rejection.reason(), rejection.content()));
+        }
+        rejected.sort(Comparator.comparingLong(RejectedRow::line));
+        return rejected;
+    }
+
+    private Path report(Path file, List<RejectedRow> rejected) {
+        try {
+            if (rejected.isEmpty()) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("line,reason,row\n");
+                for (RejectedRow row : rejected) {
+                    writer.write(row.line() + "," + quote(row.reason()) + "," + quote(row.content()) + "\n");
+                }
+            }
+            return file;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static String readHeader(FileChannel channel, long end) throws IOException {
+        return StandardCharsets.UTF_8.decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, end)).toString().strip();
+    }
+
+    // position just past the next newline at or after from, or the end of the file
+    private static long lineEnd(FileChannel channel, long from) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = from;
+        while (position < channel.size()) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return channel.size();
+    }
+
+    private <T> List<T> join(List<CompletableFuture<T>> futures) {
+        try {
+            return futures.stream().map(admissionControl::await).toList();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    private static Category reference(Long id) {
+        Category category = new Category();
+        category.setId(id);
+        return category;
+    }
+
+    private static String message(Exception exception) {
+        return NestedExceptionUtils.getMostSpecificCause(exception).getMessage();
+    }
+
+    private static String quote(String value) {
+        return "\"" + String.valueOf(value).replace("\"", "\"\"").replace('\n', ' ') + "\"";
+    }
+
+    private static void pause(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off a chunk retry", exception);
+        }
+    }
+
+    private Counter counter(String result) {
+        return Counter.builder("import.rows").tag("result", result).register(meterRegistry);
+    }
+
+    private static final class ImportRun {
+
+        private final Map<String, Category> categories = new ConcurrentHashMap<>();
+
+        private final Semaphore pending;
+
+        private final Queue<CompletableFuture<Void>> writes = new ConcurrentLinkedQueue<>();
+
+        private final Queue<ParsedSegment.Rejection> rejections = new ConcurrentLinkedQueue<>();
+
+        private final AtomicLong imported = new AtomicLong();
+
+        private final AtomicLong chunks = new AtomicLong();
+
+        private final AtomicLong retries = new AtomicLong();
+
+        private int categoriesCreated;
+
+        private ImportRun(int maxPendingChunks) {
+            this.pending = new Semaphore(maxPendingChunks);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.spring.data.jpa.loader;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+@Component
+public class BatchLoaders {
+
+    private static final String REQUEST_ATTRIBUTE = BatchLoaders.class.getName() + ".loaders";
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bulk.in-list-size:1000}")
+    private int batchSize;
+
+    public EntityBatchLoader<Category> categories() {
+        return current().categories;
+    }
+
+    public EntityBatchLoader<Product> products() {
+        return current().products;
+    }
+
+    // one pair of loaders per transaction, else per web request; anywhere else nothing would ever dispatch them
+    private Loaders current() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return requestLoaders();
+        }
+
+        Loaders loaders = (Loaders) TransactionSynchronizationManager.getResource(this);
+        if (loaders == null) {
+            Loaders created = new Loaders();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    created.categories.dispatch();
+                    created.products.dispatch();
+                }
+
+                // a REQUIRES_NEW transaction suspends this one and gets loaders of its own
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(BatchLoaders.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(BatchLoaders.this, created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BatchLoaders.this);
+                }
+            });
+            loaders = created;
+        }
+        return loaders;
+    }
+
+    private Loaders requestLoaders() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            throw new IllegalStateException("Batch loaders need an active transaction or web request");
+        }
+
+        Loaders loaders = (Loaders) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (loaders == null) {
+            loaders = new Loaders();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, loaders, RequestAttributes.SCOPE_REQUEST);
+        }
+        return loaders;
+    }
+
+    private <T> EntityBatchLoader<T> loader(String entity, Function<Collection<Long>, List<T>> query,
+                                            Function<T, Long> idOf) {
+        return new EntityBatchLoader<>(query, idOf, batchSize,
+                counter("batch.loader.lookups", entity, "cached"),
+                counter("batch.loader.lookups", entity, "deduplicated"),
+                counter("batch.loader.lookups", entity, "fetched"),
+                Counter.builder("batch.loader.queries").tag("entity", entity).register(meterRegistry));
+    }
+
+    private Counter counter(String name, String entity, String result) {
+        return Counter.builder(name).tag("entity", entity).tag("result", result).register(meterRegistry);
+    }
+
+    private class Loaders {
+
+        private final EntityBatchLoader<Category> categories =
+                loader("Category", categoryRepository::findAllById, Category::getId);
+
+        private final EntityBatchLoader<Product> products =
+                loader("Product", productRepository::findAllById, Product::getId);
+    }
+}
@@ -0,0 +1,129 @@
+package com.spring.data.jpa.loader;
+
+import com.spring.data.jpa.model.BatchLoaderStats;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+// bound to one transaction and therefore to one thread, so no synchronization
+public class EntityBatchLoader<T> {
+
+    private final Function<Collection<Long>, List<T>> query;
+
+    private final Function<T, Long> idOf;
+
+    private final int batchSize;
+
+    private final Counter cachedCounter;
+
+    private final Counter deduplicatedCounter;
+
+    private final Counter fetchedCounter;
+
+    private final Counter queryCounter;
+
+    private final Map<Long, Optional<T>> cache = new HashMap<>();
+
+    private final Map<Long, CompletableFuture<Optional<T>>> pending = new LinkedHashMap<>();
+
+    private long lookups;
+
+    private long cached;
+
+    private long deduplicated;
+
+    private long queries;
+
+    EntityBatchLoader(Function<Collection<Long>, List<T>> query, Function<T, Long> idOf, int batchSize,
+                      Counter cachedCounter, Counter deduplicatedCounter, Counter fetchedCounter, Counter queryCounter) {
+        this.query = query;
+        this.idOf = idOf;
+        this.batchSize = batchSize;
+        this.cachedCounter = cachedCounter;
+        this.deduplicatedCounter = deduplicatedCounter;
+        this.fetchedCounter = fetchedCounter;
+        this.queryCounter = queryCounter;
+    }
+
+    public CompletableFuture<Optional<T>> load(Long id) {
+        lookups++;
+
+        Optional<T> value = cache.get(id);
+        if (value != null) {
+            cached++;
+            cachedCounter.increment();
+            return CompletableFuture.completedFuture(value);
+        }
+
+        CompletableFuture<Optional<T>> future = pending.get(id);
+        if (future != null) {
+            deduplicated++;
+            deduplicatedCounter.increment();
+            return future;
+        }
+
+        fetchedCounter.increment();
+        future = new CompletableFuture<>();
+        pending.put(id, future);
+        return future;
+    }
+
+    public Optional<T> get(Long id) {
+        CompletableFuture<Optional<T>> future = load(id);
+        dispatch();
+        return future.join();
+    }
+
+    public Map<Long, T> getAll(Collection<Long> ids) {
+        Map<Long, CompletableFuture<Optional<T>>> futures = new LinkedHashMap<>();
+        for (Long id : ids) {
+            futures.put(id, load(id));
+        }
+        dispatch();
+
+        Map<Long, T> values = new LinkedHashMap<>();
+        futures.forEach((id, future) -> future.join().ifPresent(value -> values.put(id, value)));
+        return values;
+    }
+
+    // resolves everything queued since the last dispatch with one IN query per batch
+    public void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Long, CompletableFuture<Optional<T>>> batch = new LinkedHashMap<>(pending);
+        pending.clear();
+
+        List<Long> ids = new ArrayList<>(batch.keySet());
+        try {
+            Map<Long, T> found = new HashMap<>();
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                queries++;
+                queryCounter.increment();
+                for (T value : query.apply(ids.subList(from, Math.min(from + batchSize, ids.size())))) {
+                    found.put(idOf.apply(value), value);
+                }
+            }
+
+            batch.forEach((id, future) -> {
+                Optional<T> value = Optional.ofNullable(found.get(id));
+                cache.put(id, value);
+                future.complete(value);
+            });
+        } catch (RuntimeException exception) {
+            batch.values().forEach(future -> future.completeExceptionally(exception));
+            throw exception;
+        }
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public BatchLoaderStats stats() {
+        return new BatchLoaderStats(lookups, cached, deduplicated, queries);
+    }
+}
@@ -0,0 +1,9 @@
+package com.spring.data.jpa.model;
+
+public record BatchLoaderStats(long lookups, long cached, long deduplicated, long queries) {
+
+    // without the loader every lookup that is not served from its cache would have been its own findById
+    public long savedQueries() {
+        return lookups - queries;
+    }
+}
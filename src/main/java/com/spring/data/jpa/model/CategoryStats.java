@@ -0,0 +1,8 @@
+package com.spring.data.jpa.model;
+
+public record CategoryStats(Long categoryId, long productCount, long priceSum, Long priceMin, Long priceMax) {
+
+    public Double priceAverage() {
+        return productCount == 0 ? null : (double) priceSum / productCount;
+    }
+}
@@ -0,0 +1,10 @@
+package com.spring.data.jpa.model;
+
+import java.util.List;
+
+public record ChangeBatch(List<ChangeLogEntry> entries, long lastSequence, boolean hasMore) {
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+}
@@ -0,0 +1,9 @@
+package com.spring.data.jpa.model;
+
+import com.spring.data.jpa.changelog.ChangeOperation;
+
+import java.time.Instant;
+
+public record ChangeLogEntry(long sequence, String entityType, Long entityId, Long categoryId,
+                             ChangeOperation operation, String source, Instant changedAt) {
+}
@@ -0,0 +1,10 @@
+package com.spring.data.jpa.model;
+
+import java.time.Duration;
+
+public record ExportProgress(int partitionsDone, int partitions, long rows, long bytes, Duration elapsed) {
+
+    public double fractionDone() {
+        return partitions == 0 ? 1.0 : (double) partitionsDone / partitions;
+    }
+}
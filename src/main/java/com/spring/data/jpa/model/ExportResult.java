@@ -0,0 +1,21 @@
+package com.spring.data.jpa.model;
+
+import com.spring.data.jpa.export.ExportFormat;
+
+import java.time.Duration;
+
+// rows and bytes only count partitions written by this run, not the ones resumed from an earlier one
+public record ExportResult(ExportFormat format, int partitions, int skipped, long rows, long bytes, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        return rows / seconds();
+    }
+
+    public double megabytesPerSecond() {
+        return bytes / (1024.0 * 1024.0) / seconds();
+    }
+
+    private double seconds() {
+        return Math.max(elapsed.toNanos(), 1L) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.spring.data.jpa.model;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// rejectedReport is null when every row made it in
+public record ImportResult(long rows, long imported, long rejected, int categoriesCreated, long chunks,
+                           long retries, Duration elapsed, Path rejectedReport) {
+
+    public double rowsPerSecond() {
+        return imported / (Math.max(elapsed.toNanos(), 1L) / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,36 @@
+package com.spring.data.jpa.model;
+
+import java.io.*;
+import java.util.Base64;
+
+public record ProductCursor(ProductSortKey sortKey, String value, Long id, boolean backward) {
+
+    public String encode() {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeUTF(sortKey.name());
+            output.writeUTF(value);
+            output.writeLong(id);
+            output.writeBoolean(backward);
+            output.flush();
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public static ProductCursor decode(String cursor) {
+        try (DataInputStream input = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            return new ProductCursor(
+                    ProductSortKey.valueOf(input.readUTF()),
+                    input.readUTF(),
+                    input.readLong(),
+                    input.readBoolean()
+            );
+        } catch (IOException | IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Invalid product cursor: " + cursor, exception);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.spring.data.jpa.model;
+
+import com.spring.data.jpa.entity.Product;
+import jakarta.persistence.criteria.Predicate;
+import lombok.Builder;
+import lombok.Singular;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TreeSet;
+
+@Builder(toBuilder = true)
+public record ProductFilter(@Singular List<String> names, String nameContains, Long minPrice, Long maxPrice,
+                            @Singular List<Long> categoryIds, ProductSortKey sortKey) {
+
+    public static ProductFilter all() {
+        return builder().build();
+    }
+
+    // equal filters must produce equal shapes, so values are trimmed, deduplicated and sorted up front
+    public ProductFilter normalize() {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("Minimum price " + minPrice + " is greater than maximum price " + maxPrice);
+        }
+
+        TreeSet<String> distinctNames = new TreeSet<>();
+        for (String name : names) {
+            if (name != null && !name.isBlank()) {
+                distinctNames.add(name.trim());
+            }
+        }
+        String contains = nameContains == null || nameContains.isBlank() ? null : nameContains.trim();
+
+        return new ProductFilter(
+                List.copyOf(distinctNames),
+                contains,
+                minPrice,
+                maxPrice,
+                List.copyOf(new TreeSet<>(categoryIds.stream().filter(Objects::nonNull).toList())),
+                sortKey == null ? ProductSortKey.ID : sortKey
+        );
+    }
+
+    public ProductFilterShape shape() {
+        return new ProductFilterShape(
+                !names.isEmpty(),
+                nameContains != null,
+                minPrice != null,
+                maxPrice != null,
+                !categoryIds.isEmpty(),
+                sortKey == null ? ProductSortKey.ID : sortKey
+        );
+    }
+
+    public String nameContainsPattern() {
+        return nameContains == null ? null : "%" + nameContains.toLowerCase(Locale.ROOT) + "%";
+    }
+
+    // for JpaSpecificationExecutor and the bulk fragment, which build their own criteria tree per call
+    public Specification<Product> toSpecification() {
+        ProductFilter filter = normalize();
+
+        return (root, criteria, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (!filter.names().isEmpty()) {
+                predicates.add(root.get("name").in((Collection<?>) filter.names()));
+            }
+            if (filter.nameContains() != null) {
+                predicates.add(builder.like(builder.lower(root.get("name")), filter.nameContainsPattern()));
+            }
+            if (filter.minPrice() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+            }
+            if (filter.maxPrice() != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+            }
+            if (!filter.categoryIds().isEmpty()) {
+                predicates.add(root.get("category").get("id").in((Collection<?>) filter.categoryIds()));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,5 @@
+package com.spring.data.jpa.model;
+
+public record ProductFilterShape(boolean names, boolean nameContains, boolean minPrice, boolean maxPrice,
+                                 boolean categoryIds, ProductSortKey sortKey) {
+}
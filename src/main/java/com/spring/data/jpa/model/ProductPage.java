@@ -0,0 +1,8 @@
+package com.spring.data.jpa.model;
+
+import com.spring.data.jpa.entity.Product;
+
+import java.util.List;
+
+public record ProductPage(List<Product> products, long count, boolean exists) {
+}
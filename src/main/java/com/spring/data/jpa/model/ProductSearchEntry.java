@@ -0,0 +1,4 @@
+package com.spring.data.jpa.model;
+
+public record ProductSearchEntry(Long id, String name, Long categoryId) {
+}
@@ -0,0 +1,19 @@
+package com.spring.data.jpa.model;
+
+import com.spring.data.jpa.entity.Product;
+
+import java.util.List;
+
+public record ProductSearchResult(List<Product> content, boolean hasNext, Long total, boolean totalCapped) {
+
+    public boolean hasTotal() {
+        return total != null;
+    }
+
+    public String totalLabel() {
+        if (total == null) {
+            return null;
+        }
+        return totalCapped ? String.format("%,d+", total) : String.format("%,d", total);
+    }
+}
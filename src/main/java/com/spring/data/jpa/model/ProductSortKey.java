@@ -0,0 +1,27 @@
+package com.spring.data.jpa.model;
+
+import java.util.function.Function;
+
+public enum ProductSortKey {
+
+    ID("id", Long::valueOf),
+    NAME("name", value -> value),
+    PRICE("price", Long::valueOf);
+
+    private final String property;
+
+    private final Function<String, Object> parser;
+
+    ProductSortKey(String property, Function<String, Object> parser) {
+        this.property = property;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+}
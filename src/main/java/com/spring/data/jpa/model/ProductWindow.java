@@ -0,0 +1,16 @@
+package com.spring.data.jpa.model;
+
+import com.spring.data.jpa.entity.Product;
+
+import java.util.List;
+
+public record ProductWindow(List<Product> content, String nextCursor, String previousCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+}
@@ -0,0 +1,4 @@
+package com.spring.data.jpa.model;
+
+public record RejectedRow(long line, String reason, String content) {
+}
@@ -0,0 +1,9 @@
+package com.spring.data.jpa.model;
+
+public enum SearchTotalMode {
+
+    NONE,
+    CAPPED,
+    CACHED,
+    EXACT
+}
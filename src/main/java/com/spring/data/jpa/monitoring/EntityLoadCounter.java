@@ -0,0 +1,19 @@
+package com.spring.data.jpa.monitoring;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+public class EntityLoadCounter implements Interceptor {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        COUNT.get()[0]++;
+        return false;
+    }
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,173 @@
+package com.spring.data.jpa.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.Collectors;
+
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RepositoryMetricsInterceptor.class);
+
+    private final Supplier<MeterRegistry> registry;
+
+    private final String repository;
+
+    private final Duration slowQueryThreshold;
+
+    private final Map<Method, MethodMeters> methodMeters = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry meterRegistry;
+
+    public RepositoryMetricsInterceptor(Supplier<MeterRegistry> registry, Class<?> repositoryInterface,
+                                        Duration slowQueryThreshold) {
+        this.registry = registry;
+        this.repository = repositoryInterface.getSimpleName();
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long statements = SqlStatementCounter.current();
+        long loads = EntityLoadCounter.current();
+        long start = System.nanoTime();
+
+        String outcome = "success";
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable throwable) {
+            outcome = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            record(invocation, outcome, elapsed,
+                    SqlStatementCounter.current() - statements,
+                    EntityLoadCounter.current() - loads,
+                    rows(result));
+        }
+    }
+
+    private void record(MethodInvocation invocation, String outcome, long elapsed,
+                        long statements, long loads, long rows) {
+        MethodMeters meters = meters(invocation.getMethod());
+
+        if (meters != null) {
+            if (outcome.equals("success")) {
+                meters.invocations().record(elapsed, TimeUnit.NANOSECONDS);
+            } else {
+                timer(meters.tags(), outcome).record(elapsed, TimeUnit.NANOSECONDS);
+            }
+            meters.statements().record(statements);
+            meters.entitiesLoaded().record(loads);
+            if (rows >= 0) {
+                meters.rows().record(rows);
+            }
+        }
+
+        if (elapsed >= slowQueryThreshold.toNanos()) {
+            log.warn("Slow repository call {}.{} took {} ms, {} statements, {} rows, parameters {}",
+                    repository, describe(invocation.getMethod()), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    statements, rows, shapes(invocation.getArguments()));
+        }
+    }
+
+    private MethodMeters meters(Method method) {
+        MethodMeters meters = methodMeters.get(method);
+        if (meters != null) {
+            return meters;
+        }
+
+        MeterRegistry registry = this.registry.get();
+        if (registry == null) {
+            return null;
+        }
+        this.meterRegistry = registry;
+
+        return methodMeters.computeIfAbsent(method, key -> {
+            Tags tags = Tags.of("repository", repository, "method", describe(key));
+            return new MethodMeters(
+                    tags,
+                    timer(tags, "success"),
+                    DistributionSummary.builder("repository.statements").tags(tags).register(registry),
+                    DistributionSummary.builder("repository.rows").tags(tags).register(registry),
+                    DistributionSummary.builder("repository.entities.loaded").tags(tags).register(registry)
+            );
+        });
+    }
+
+    private Timer timer(Tags tags, String outcome) {
+        return Timer.builder("repository.invocations")
+                .tags(tags).tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        } else if (result instanceof Collection<?> collection) {
+            return collection.size();
+        } else if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        } else if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        } else if (result instanceof Iterable<?> || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+
+    private static String describe(Method method) {
+        return Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", method.getName() + "(", ")"));
+    }
+
+    // bound values may be personal data, so only their shape is logged
+    static String shapes(Object[] arguments) {
+        return Arrays.stream(arguments)
+                .map(RepositoryMetricsInterceptor::shape)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String shape(Object argument) {
+        if (argument == null) {
+            return "null";
+        } else if (argument instanceof CharSequence value) {
+            return "String(length=" + value.length() + ")";
+        } else if (argument instanceof Collection<?> collection) {
+            return argument.getClass().getSimpleName() + "(size=" + collection.size() + ")";
+        } else if (argument instanceof Pageable pageable) {
+            return pageable.isUnpaged() ? "Pageable(unpaged)"
+                    : "Pageable(page=" + pageable.getPageNumber() + ", size=" + pageable.getPageSize()
+                    + ", sort=" + pageable.getSort() + ")";
+        } else if (argument instanceof Sort sort) {
+            return "Sort(" + sort + ")";
+        } else if (argument instanceof Class<?> type) {
+            return "Class(" + type.getSimpleName() + ")";
+        }
+        return argument.getClass().getSimpleName();
+    }
+
+    private record MethodMeters(Tags tags, Timer invocations, DistributionSummary statements,
+                                DistributionSummary rows, DistributionSummary entitiesLoaded) {
+    }
+}
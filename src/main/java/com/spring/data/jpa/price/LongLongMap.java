@@ -0,0 +1,131 @@
+package com.spring.data.jpa.price;
+
+import java.util.Arrays;
+
+// open addressing with linear probing and backward-shift removal; keys and values interleave in one array
+// so a reader holding the array reference always sees a consistently shaped table, even during a resize
+final class LongLongMap {
+
+    private static final long FREE = 0L;
+
+    private long[] table;
+
+    private int size;
+
+    LongLongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        table = new long[capacity * 2];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(long key, long missing) {
+        long[] table = this.table;
+        int mask = table.length / 2 - 1;
+
+        int slot = slot(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = table[slot * 2];
+            if (current == key) {
+                return table[slot * 2 + 1];
+            }
+            if (current == FREE) {
+                return missing;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missing;
+    }
+
+    void put(long key, long value) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        if ((size + 1) * 4 > table.length) {
+            resize(table.length);
+        }
+
+        int mask = table.length / 2 - 1;
+        int slot = slot(key, mask);
+        while (table[slot * 2] != FREE) {
+            if (table[slot * 2] == key) {
+                table[slot * 2 + 1] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot * 2] = key;
+        table[slot * 2 + 1] = value;
+        size++;
+    }
+
+    boolean remove(long key) {
+        int mask = table.length / 2 - 1;
+        int slot = slot(key, mask);
+        while (table[slot * 2] != key) {
+            if (table[slot * 2] == FREE) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // pull later entries of the probe chain back so lookups never stop at the hole
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (table[next * 2] != FREE) {
+            int ideal = slot(table[next * 2], mask);
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                table[gap * 2] = table[next * 2];
+                table[gap * 2 + 1] = table[next * 2 + 1];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[gap * 2] = FREE;
+        table[gap * 2 + 1] = 0;
+        size--;
+        return true;
+    }
+
+    void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+    }
+
+    long[] keys() {
+        long[] table = this.table;
+        long[] keys = new long[table.length / 2];
+        int count = 0;
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != FREE) {
+                keys[count++] = table[i];
+            }
+        }
+        return Arrays.copyOf(keys, count);
+    }
+
+    private void resize(int capacity) {
+        long[] old = table;
+        long[] resized = new long[capacity * 2];
+        int mask = capacity - 1;
+
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != FREE) {
+                int slot = slot(old[i], mask);
+                while (resized[slot * 2] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                resized[slot * 2] = old[i];
+                resized[slot * 2 + 1] = old[i + 1];
+            }
+        }
+        table = resized;
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
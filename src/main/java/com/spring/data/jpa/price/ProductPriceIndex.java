@@ -0,0 +1,337 @@
+package com.spring.data.jpa.price;
+
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.event.BulkModificationEvent;
+import com.spring.data.jpa.model.ProductPrice;
+import com.spring.data.jpa.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+@Component
+public class ProductPriceIndex implements MeterBinder {
+
+    private static final long MISSING = Long.MIN_VALUE;
+
+    private static final String SELECT_SQL = "SELECT id, category_id, price FROM products";
+
+    private static final String RANGE_SQL =
+            "SELECT id, price FROM products WHERE category_id = ? AND price BETWEEN ? AND ? ORDER BY id";
+
+    // ordered by price first, so a price range is one contiguous view of the set
+    private static final Comparator<ProductPrice> BY_PRICE =
+            Comparator.comparing(ProductPrice::price).thenComparing(ProductPrice::id);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final ProductRepository productRepository;
+
+    private final boolean warmUp;
+
+    private final int fetchSize;
+
+    private final int inListSize;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final StampedLock lock = new StampedLock();
+
+    private final LongLongMap prices = new LongLongMap(1024);
+
+    private final LongLongMap categories = new LongLongMap(1024);
+
+    private final Map<Long, NavigableSet<ProductPrice>> categoryPrices = new HashMap<>();
+
+    // changes applied while a rebuild or refresh reads the table, replayed on top of what it read;
+    // guarded by the write lock
+    private final Set<List<Runnable>> journals = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final AtomicLong rebuildsRequested = new AtomicLong();
+
+    private volatile long rebuildsApplied;
+
+    public ProductPriceIndex(JdbcTemplate jdbcTemplate,
+                             NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                             ProductRepository productRepository,
+                             @Value("${product.price-index.warm-up:true}") boolean warmUp,
+                             @Value("${product.stream.fetch-size:1000}") int fetchSize,
+                             @Value("${bulk.in-list-size:1000}") int inListSize,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.productRepository = productRepository;
+        this.warmUp = warmUp;
+        this.fetchSize = fetchSize;
+        this.inListSize = inListSize;
+
+        this.hits = Counter.builder("product.price.index.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("product.price.index.lookups").tag("result", "miss").register(meterRegistry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("product.price.index.size", this, ProductPriceIndex::size).register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmUp) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.price-index.rebuild-interval:PT1S}",
+               initialDelayString = "${product.price-index.rebuild-interval:PT1S}")
+    public void rebuildIfStale() {
+        if (isStale()) {
+            rebuild();
+        }
+    }
+
+    // streams the table row by row instead of materializing entities or a result list
+    public synchronized void rebuild() {
+        long requested = rebuildsRequested.get();
+        LongLongMap loadedPrices = new LongLongMap(1024);
+        LongLongMap loadedCategories = new LongLongMap(1024);
+
+        List<Runnable> journal = openJournal();
+        try {
+            JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+            streaming.setFetchSize(fetchSize);
+            streaming.query(SELECT_SQL, resultSet -> {
+                loadedPrices.put(resultSet.getLong(1), resultSet.getLong(3));
+                loadedCategories.put(resultSet.getLong(1), resultSet.getLong(2));
+            });
+        } catch (RuntimeException exception) {
+            closeJournal(journal, () -> {
+            });
+            throw exception;
+        }
+
+        closeJournal(journal, () -> {
+            prices.clear();
+            categories.clear();
+            categoryPrices.clear();
+            for (long id : loadedPrices.keys()) {
+                put(id, loadedCategories.get(id, MISSING), loadedPrices.get(id, MISSING));
+            }
+            rebuildsApplied = Math.max(rebuildsApplied, requested);
+        });
+    }
+
+    // while a requested rebuild is pending the index may be missing writes, so lookups go to the table
+    public boolean isStale() {
+        return rebuildsApplied < rebuildsRequested.get();
+    }
+
+    public Optional<ProductPrice> find(Long id) {
+        long price = isStale() ? MISSING : read(() -> prices.get(id, MISSING));
+        if (price != MISSING) {
+            hits.increment();
+            return Optional.of(new ProductPrice(id, price));
+        }
+
+        misses.increment();
+        return productRepository.findProductPriceById(id);
+    }
+
+    public List<ProductPrice> findByCategory(Long categoryId, long minPrice, long maxPrice) {
+        if (minPrice > maxPrice) {
+            return List.of();
+        }
+        if (isStale()) {
+            return jdbcTemplate.query(RANGE_SQL,
+                    (resultSet, rowNumber) -> new ProductPrice(resultSet.getLong(1), resultSet.getLong(2)),
+                    categoryId, minPrice, maxPrice);
+        }
+
+        // a range walks tree nodes, which an optimistic read cannot safely do next to a rebalancing writer
+        long stamp = lock.readLock();
+        List<ProductPrice> matches;
+        try {
+            NavigableSet<ProductPrice> products = categoryPrices.get(categoryId);
+            if (products == null) {
+                return List.of();
+            }
+            matches = new ArrayList<>(products.subSet(new ProductPrice(Long.MIN_VALUE, minPrice), true,
+                    new ProductPrice(Long.MAX_VALUE, maxPrice), true));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        matches.sort(Comparator.comparing(ProductPrice::id));
+        return matches;
+    }
+
+    public int size() {
+        return read(prices::size);
+    }
+
+    public void index(Long id, Long categoryId, Long price) {
+        if (id == null || categoryId == null || price == null) {
+            return;
+        }
+
+        apply(() -> {
+            removeIndexed(id);
+            put(id, categoryId, price);
+        });
+    }
+
+    public void remove(Long id) {
+        apply(() -> removeIndexed(id));
+    }
+
+    // prices written by a statement are reloaded by id or category; without either the index
+    // turns stale and lookups go to the table until the next rebuild
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkModification(BulkModificationEvent event) {
+        if (event.domainType() != Product.class) {
+            return;
+        }
+        if (event.hasIds()) {
+            refresh("id", event.ids());
+        } else if (event.hasCategoryIds()) {
+            refresh("category_id", event.categoryIds());
+        } else {
+            rebuildsRequested.incrementAndGet();
+        }
+    }
+
+    private void refresh(String column, Collection<Long> keys) {
+        List<Long> all = new ArrayList<>(keys);
+        for (int from = 0; from < all.size(); from += inListSize) {
+            List<Long> chunk = all.subList(from, Math.min(from + inListSize, all.size()));
+
+            List<Runnable> journal = openJournal();
+            List<long[]> rows;
+            try {
+                rows = namedParameterJdbcTemplate.query(SELECT_SQL + " WHERE " + column + " IN (:keys)",
+                        Map.of("keys", chunk),
+                        (resultSet, rowNumber) -> new long[]{resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3)});
+            } catch (RuntimeException exception) {
+                closeJournal(journal, () -> {
+                });
+                throw exception;
+            }
+
+            closeJournal(journal, () -> journaled(() -> {
+                if (column.equals("id")) {
+                    chunk.forEach(this::removeIndexed);
+                } else {
+                    for (Long categoryId : chunk) {
+                        NavigableSet<ProductPrice> products = categoryPrices.get(categoryId);
+                        if (products != null) {
+                            new ArrayList<>(products).forEach(product -> removeIndexed(product.id()));
+                        }
+                    }
+                }
+                rows.forEach(row -> put(row[0], row[1], row[2]));
+            }));
+        }
+    }
+
+    private void apply(Runnable change) {
+        long stamp = lock.writeLock();
+        try {
+            journaled(change);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // runs under the write lock
+    private void journaled(Runnable change) {
+        change.run();
+        journals.forEach(journal -> journal.add(change));
+    }
+
+    private List<Runnable> openJournal() {
+        List<Runnable> journal = new ArrayList<>();
+        long stamp = lock.writeLock();
+        try {
+            journals.add(journal);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return journal;
+    }
+
+    // what was read may predate writes that landed in the meantime, so those are replayed after it
+    private void closeJournal(List<Runnable> journal, Runnable load) {
+        long stamp = lock.writeLock();
+        try {
+            journals.remove(journal);
+            load.run();
+            journal.forEach(Runnable::run);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // an optimistic read may observe a table mid-update, so any answer or failure is only kept once validated
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T value = reader.get();
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            } catch (RuntimeException exception) {
+                if (lock.validate(stamp)) {
+                    throw exception;
+                }
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void put(long id, long categoryId, long price) {
+        prices.put(id, price);
+        categories.put(id, categoryId);
+        categoryPrices.computeIfAbsent(categoryId, key -> new TreeSet<>(BY_PRICE)).add(new ProductPrice(id, price));
+    }
+
+    private void removeIndexed(long id) {
+        long categoryId = categories.get(id, MISSING);
+        if (categoryId == MISSING) {
+            return;
+        }
+
+        long price = prices.get(id, MISSING);
+        prices.remove(id);
+        categories.remove(id);
+        NavigableSet<ProductPrice> products = categoryPrices.get(categoryId);
+        if (products != null) {
+            products.remove(new ProductPrice(id, price));
+            if (products.isEmpty()) {
+                categoryPrices.remove(categoryId);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.spring.data.jpa.price;
+
+import com.spring.data.jpa.entity.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ProductPriceIndexListener {
+
+    // resolved per call: ProductPriceIndex cannot exist before Hibernate has finished bootstrapping
+    @Autowired
+    private ObjectProvider<ProductPriceIndex> productPriceIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Product product) {
+        Long id = product.getId();
+        Long categoryId = product.getCategory() == null ? null : product.getCategory().getId();
+        Long price = product.getPrice();
+
+        afterCommit(() -> productPriceIndex.getObject().index(id, categoryId, price));
+    }
+
+    @PostRemove
+    public void onRemove(Product product) {
+        Long id = product.getId();
+
+        afterCommit(() -> productPriceIndex.getObject().remove(id));
+    }
+
+    private void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.spring.data.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+final class BulkInsertSupport {
+
+    private BulkInsertSupport() {
+    }
+
+    @FunctionalInterface
+    interface Binder<T> {
+
+        void bind(PreparedStatement statement, T entity) throws SQLException;
+    }
+
+    static <T> List<T> insert(EntityManager entityManager, String sql, List<T> entities, int chunkSize,
+                              Binder<T> binder, BiConsumer<T, Long> idSetter) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be greater than zero");
+        }
+
+        entityManager.flush();
+        Session session = entityManager.unwrap(Session.class);
+
+        for (int from = 0; from < entities.size(); from += chunkSize) {
+            List<T> chunk = entities.subList(from, Math.min(from + chunkSize, entities.size()));
+
+            session.doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    for (T entity : chunk) {
+                        binder.bind(statement, entity);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+
+                    // IDENTITY keys come back in insert order, one per batched row; any other count means
+                    // the ids cannot be matched to the entities
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        int index = 0;
+                        while (keys.next()) {
+                            if (index < chunk.size()) {
+                                idSetter.accept(chunk.get(index), keys.getLong(1));
+                            }
+                            index++;
+                        }
+                        if (index != chunk.size()) {
+                            throw new IncorrectResultSizeDataAccessException(
+                                    "Batch insert returned " + index + " generated keys for " + chunk.size() + " rows",
+                                    chunk.size(), index);
+                        }
+                    }
+                }
+            });
+
+            // the rest of the persistence context belongs to the caller, only the inserted rows are let go
+            for (T entity : chunk) {
+                if (entityManager.contains(entity)) {
+                    entityManager.detach(entity);
+                }
+            }
+        }
+
+        return entities;
+    }
+}
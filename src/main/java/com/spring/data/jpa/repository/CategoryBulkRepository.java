@@ -0,0 +1,10 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.entity.Category;
+
+import java.util.List;
+
+public interface CategoryBulkRepository {
+
+    List<Category> bulkInsert(List<Category> categories);
+}
@@ -0,0 +1,54 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.event.BulkModificationEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+public class CategoryBulkRepositoryImpl implements CategoryBulkRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO categories (name, created_date, last_modified_date) VALUES (?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Value("${bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    @Transactional
+    public List<Category> bulkInsert(List<Category> categories) {
+        // bypasses AuditingEntityListener, so stamp the audit columns here
+        Instant now = Instant.now();
+
+        List<Category> inserted = BulkInsertSupport.insert(entityManager, INSERT_SQL, categories, chunkSize,
+                (statement, category) -> {
+                    if (category.getCreatedDate() == null) {
+                        category.setCreatedDate(now);
+                    }
+                    category.setLastModifiedDate(now);
+
+                    statement.setString(1, category.getName());
+                    statement.setTimestamp(2, Timestamp.from(category.getCreatedDate()));
+                    statement.setTimestamp(3, Timestamp.from(category.getLastModifiedDate()));
+                },
+                Category::setId);
+
+        publisher.publishEvent(BulkModificationEvent.ofIds(Category.class, "bulkInsert",
+                inserted.stream().map(Category::getId).toList()));
+
+        return inserted;
+    }
+}
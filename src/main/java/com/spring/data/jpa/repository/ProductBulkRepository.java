@@ -0,0 +1,24 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.entity.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductBulkRepository {
+
+    List<Product> bulkInsert(List<Product> products);
+
+    // a specification run as a bulk statement gets no CriteriaQuery, as with JpaSpecificationExecutor.delete,
+    // so it can only restrict the root: no joins, subqueries or query-level settings
+    int bulkDelete(Specification<Product> specification);
+
+    int bulkDeleteByIds(Collection<Long> ids);
+
+    int bulkUpdatePrice(Specification<Product> specification, Long price);
+
+    int bulkUpdatePriceByIds(Collection<Long> ids, Long price);
+
+    int adjustPriceByCategory(Long categoryId, long delta);
+}
@@ -0,0 +1,173 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.event.BulkModificationEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class ProductBulkRepositoryImpl implements ProductBulkRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO products (name, price, category_id, version) VALUES (?, ?, ?, 0)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Value("${bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${bulk.in-list-size:1000}")
+    private int inListSize;
+
+    private SimpleJpaRepository<Product, Long> products;
+
+    @PostConstruct
+    void createDelegate() {
+        products = new SimpleJpaRepository<>(Product.class, entityManager);
+    }
+
+    @Override
+    @Transactional
+    public List<Product> bulkInsert(List<Product> products) {
+        List<Product> inserted = BulkInsertSupport.insert(entityManager, INSERT_SQL, products, chunkSize,
+                (statement, product) -> {
+                    product.setVersion(0L);
+                    statement.setString(1, product.getName());
+                    statement.setLong(2, product.getPrice());
+                    statement.setLong(3, product.getCategory().getId());
+                },
+                Product::setId);
+
+        Set<Long> categoryIds = inserted.stream()
+                .map(product -> product.getCategory().getId())
+                .collect(Collectors.toSet());
+        publisher.publishEvent(new BulkModificationEvent(Product.class, "bulkInsert",
+                inserted.stream().map(Product::getId).toList(), categoryIds));
+
+        return inserted;
+    }
+
+    // JpaSpecificationExecutor.delete builds the same statement, this adds the flush, the eviction and the event
+    @Override
+    @Transactional
+    public int bulkDelete(Specification<Product> specification) {
+        entityManager.flush();
+        int affected = (int) products.delete(specification);
+        detachProducts(product -> true);
+
+        return publish(BulkModificationEvent.unknownRows(Product.class, "bulkDelete"), affected);
+    }
+
+    @Override
+    @Transactional
+    public int bulkDeleteByIds(Collection<Long> ids) {
+        int affected = executeChunked(ids, chunk -> entityManager
+                .createQuery("DELETE FROM Product p WHERE p.id IN :ids")
+                .setParameter("ids", chunk));
+
+        return publish(BulkModificationEvent.ofIds(Product.class, "bulkDeleteByIds", ids), affected);
+    }
+
+    @Override
+    @Transactional
+    public int bulkUpdatePrice(Specification<Product> specification, Long price) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = builder.createCriteriaUpdate(Product.class);
+        Root<Product> root = update.from(Product.class);
+        update.set(root.<Long>get("price"), price);
+        update.set(root.<Long>get("version"), builder.sum(root.<Long>get("version"), 1L));
+
+        // no CriteriaQuery exists for a bulk statement, so the specification gets none, as with delete
+        Expression<Boolean> restriction = specification.toPredicate(root, null, builder);
+        if (restriction != null) {
+            update.where(restriction);
+        }
+
+        entityManager.flush();
+        int affected = entityManager.createQuery(update).executeUpdate();
+        detachProducts(product -> true);
+
+        return publish(BulkModificationEvent.unknownRows(Product.class, "bulkUpdatePrice").asPriceOnly(), affected);
+    }
+
+    @Override
+    @Transactional
+    public int bulkUpdatePriceByIds(Collection<Long> ids, Long price) {
+        int affected = executeChunked(ids, chunk -> entityManager
+                .createQuery("UPDATE Product p SET p.price = :price, p.version = p.version + 1 WHERE p.id IN :ids")
+                .setParameter("price", price)
+                .setParameter("ids", chunk));
+
+        return publish(BulkModificationEvent.ofIds(Product.class, "bulkUpdatePriceByIds", ids).asPriceOnly(), affected);
+    }
+
+    @Override
+    @Transactional
+    public int adjustPriceByCategory(Long categoryId, long delta) {
+        entityManager.flush();
+        int affected = entityManager
+                .createQuery("UPDATE Product p SET p.price = p.price + :delta, p.version = p.version + 1 " +
+                        "WHERE p.category.id = :categoryId")
+                .setParameter("delta", delta)
+                .setParameter("categoryId", categoryId)
+                .executeUpdate();
+        detachProducts(product -> product.getCategory() != null && categoryId.equals(product.getCategory().getId()));
+
+        return publish(new BulkModificationEvent(Product.class, "adjustPriceByCategory",
+                null, List.of(categoryId), true), affected);
+    }
+
+    private int executeChunked(Collection<Long> ids, Function<List<Long>, Query> statement) {
+        List<Long> all = new ArrayList<>(ids);
+        int affected = 0;
+
+        entityManager.flush();
+        for (int from = 0; from < all.size(); from += inListSize) {
+            affected += statement.apply(all.subList(from, Math.min(from + inListSize, all.size()))).executeUpdate();
+        }
+        Set<Long> touched = new HashSet<>(all);
+        detachProducts(product -> touched.contains(product.getId()));
+
+        return affected;
+    }
+
+    // only the products a statement may have rewritten go stale, everything else the caller holds stays managed
+    private void detachProducts(Predicate<Product> touched) {
+        Map.Entry<Object, EntityEntry>[] entries = entityManager.unwrap(SessionImplementor.class)
+                .getPersistenceContextInternal().reentrantSafeEntityEntries();
+        for (Map.Entry<Object, EntityEntry> entry : entries) {
+            if (entry.getKey() instanceof Product product && touched.test(product)) {
+                entityManager.detach(product);
+            }
+        }
+    }
+
+    private int publish(BulkModificationEvent event, int affected) {
+        if (affected > 0) {
+            publisher.publishEvent(event);
+        }
+        return affected;
+    }
+}
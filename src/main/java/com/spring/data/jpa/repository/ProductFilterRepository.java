@@ -0,0 +1,13 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ProductFilter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface ProductFilterRepository {
+
+    Slice<Product> filter(ProductFilter filter, Pageable pageable);
+
+    long countFilter(ProductFilter filter);
+}
@@ -0,0 +1,58 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.filter.CompiledProductFilter;
+import com.spring.data.jpa.filter.ProductFilterCompiler;
+import com.spring.data.jpa.model.ProductFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductFilterRepositoryImpl implements ProductFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductFilterCompiler productFilterCompiler;
+
+    @Override
+    public Slice<Product> filter(ProductFilter filter, Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            throw new IllegalArgumentException("Filter results are ordered by the filter sort key, not the pageable");
+        }
+
+        ProductFilter normalized = filter.normalize();
+        CompiledProductFilter compiled = productFilterCompiler.compile(normalized.shape());
+
+        TypedQuery<Product> select = productFilterCompiler.createQuery(entityManager, compiled.selectJpql(), Product.class);
+        TypedQuery<Product> query = compiled.bind(select, normalized);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize() + 1);
+        }
+
+        List<Product> rows = new ArrayList<>(query.getResultList());
+        boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows.remove(pageable.getPageSize());
+        }
+        return new SliceImpl<>(rows, pageable, hasNext);
+    }
+
+    @Override
+    public long countFilter(ProductFilter filter) {
+        ProductFilter normalized = filter.normalize();
+        CompiledProductFilter compiled = productFilterCompiler.compile(normalized.shape());
+
+        TypedQuery<Long> count = productFilterCompiler.createQuery(entityManager, compiled.countJpql(), Long.class);
+        return compiled.bind(count, normalized).getSingleResult();
+    }
+}
@@ -0,0 +1,24 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.model.ProductPrice;
+import com.spring.data.jpa.model.SimpleProduct;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductJdbcRepository {
+
+    List<SimpleProduct> findSimpleProductsByNameLike(String name);
+
+    List<SimpleProduct> findSimpleProductsByCategoryName(String categoryName);
+
+    List<ProductPrice> findProductPricesByNameLike(String name);
+
+    Optional<ProductPrice> findProductPriceById(Long id);
+
+    long[] findIdsByNameLike(String name);
+
+    long[] findPricesByCategoryId(Long categoryId);
+
+    long[] findIdsByCategoryId(Long categoryId);
+}
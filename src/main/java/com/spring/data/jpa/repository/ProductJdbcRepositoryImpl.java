@@ -0,0 +1,78 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.model.ProductPrice;
+import com.spring.data.jpa.model.SimpleProduct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+public class ProductJdbcRepositoryImpl implements ProductJdbcRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<SimpleProduct> findSimpleProductsByNameLike(String name) {
+        flushPending();
+        return jdbcTemplate.query("SELECT id, name FROM products WHERE name LIKE ? ORDER BY id",
+                ProductRowMappers.SIMPLE_PRODUCT, name);
+    }
+
+    @Override
+    public List<SimpleProduct> findSimpleProductsByCategoryName(String categoryName) {
+        flushPending();
+        return jdbcTemplate.query("SELECT p.id, p.name FROM products p JOIN categories c ON c.id = p.category_id " +
+                "WHERE c.name = ? ORDER BY p.id", ProductRowMappers.SIMPLE_PRODUCT, categoryName);
+    }
+
+    @Override
+    public List<ProductPrice> findProductPricesByNameLike(String name) {
+        flushPending();
+        return jdbcTemplate.query("SELECT id, price FROM products WHERE name LIKE ? ORDER BY id",
+                ProductRowMappers.PRODUCT_PRICE, name);
+    }
+
+    @Override
+    public Optional<ProductPrice> findProductPriceById(Long id) {
+        flushPending();
+        return jdbcTemplate.query("SELECT id, price FROM products WHERE id = ?",
+                ProductRowMappers.PRODUCT_PRICE, id).stream().findFirst();
+    }
+
+    @Override
+    public long[] findIdsByNameLike(String name) {
+        flushPending();
+        return jdbcTemplate.query("SELECT id FROM products WHERE name LIKE ? ORDER BY id",
+                ProductRowMappers.FIRST_COLUMN, name);
+    }
+
+    @Override
+    public long[] findPricesByCategoryId(Long categoryId) {
+        flushPending();
+        return jdbcTemplate.query("SELECT price FROM products WHERE category_id = ? ORDER BY id",
+                ProductRowMappers.FIRST_COLUMN, categoryId);
+    }
+
+    @Override
+    public long[] findIdsByCategoryId(Long categoryId) {
+        flushPending();
+        return jdbcTemplate.query("SELECT id FROM products WHERE category_id = ? ORDER BY id",
+                ProductRowMappers.FIRST_COLUMN, categoryId);
+    }
+
+    // plain JDBC does not see entity changes still queued in the persistence context
+    private void flushPending() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            entityManager.flush();
+        }
+    }
+}
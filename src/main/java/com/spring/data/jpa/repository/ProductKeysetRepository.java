@@ -0,0 +1,10 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.model.ProductSortKey;
+import com.spring.data.jpa.model.ProductWindow;
+
+public interface ProductKeysetRepository {
+
+    ProductWindow scrollAllByCategory(Category category, ProductSortKey sortKey, String cursor, int size);
+}
@@ -0,0 +1,97 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ProductCursor;
+import com.spring.data.jpa.model.ProductSortKey;
+import com.spring.data.jpa.model.ProductWindow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ProductKeysetRepositoryImpl implements ProductKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public ProductWindow scrollAllByCategory(Category category, ProductSortKey sortKey, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Window size must be greater than zero");
+        }
+
+        ProductCursor position = cursor == null ? null : ProductCursor.decode(cursor);
+        if (position != null && position.sortKey() != sortKey) {
+            throw new IllegalArgumentException("Cursor was created for sort key " + position.sortKey());
+        }
+        boolean backward = position != null && position.backward();
+
+        TypedQuery<Product> query = entityManager.createQuery(jpql(sortKey, position), Product.class)
+                .setParameter("category", category)
+                .setMaxResults(size + 1);
+        if (position != null) {
+            query.setParameter("id", position.id());
+            if (sortKey != ProductSortKey.ID) {
+                query.setParameter("value", sortKey.parse(position.value()));
+            }
+        }
+
+        List<Product> rows = new ArrayList<>(query.getResultList());
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows.remove(size);
+        }
+        if (backward) {
+            Collections.reverse(rows);
+        }
+
+        if (rows.isEmpty()) {
+            return new ProductWindow(rows, null, null);
+        }
+
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : position != null;
+
+        return new ProductWindow(
+                rows,
+                hasNext ? cursor(sortKey, rows.get(rows.size() - 1), false) : null,
+                hasPrevious ? cursor(sortKey, rows.get(0), true) : null
+        );
+    }
+
+    private String jpql(ProductSortKey sortKey, ProductCursor position) {
+        String key = "p." + sortKey.getProperty();
+        boolean backward = position != null && position.backward();
+        String operator = backward ? "<" : ">";
+        String direction = backward ? "DESC" : "ASC";
+
+        StringBuilder jpql = new StringBuilder("SELECT p FROM Product p WHERE p.category = :category");
+        if (position != null) {
+            if (sortKey == ProductSortKey.ID) {
+                jpql.append(" AND p.id ").append(operator).append(" :id");
+            } else {
+                jpql.append(" AND (").append(key).append(' ').append(operator).append(" :value")
+                        .append(" OR (").append(key).append(" = :value AND p.id ").append(operator).append(" :id))");
+            }
+        }
+        if (sortKey != ProductSortKey.ID) {
+            jpql.append(" ORDER BY ").append(key).append(' ').append(direction).append(", p.id ").append(direction);
+        } else {
+            jpql.append(" ORDER BY p.id ").append(direction);
+        }
+        return jpql.toString();
+    }
+
+    private String cursor(ProductSortKey sortKey, Product product, boolean backward) {
+        Object value = switch (sortKey) {
+            case ID -> product.getId();
+            case NAME -> product.getName();
+            case PRICE -> product.getPrice();
+        };
+        return new ProductCursor(sortKey, String.valueOf(value), product.getId(), backward).encode();
+    }
+}
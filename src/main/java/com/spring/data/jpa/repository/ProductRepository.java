@@ -2,12 +2,17 @@ package com.spring.data.jpa.repository;
 
 import com.spring.data.jpa.entity.Category;
 import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.event.PriceOnly;
+import com.spring.data.jpa.model.ProductSearchEntry;
 import com.spring.data.jpa.model.SimpleProduct;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,38 +23,78 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
-
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductBulkRepository, ProductKeysetRepository, ProductStreamRepository, ProductFilterRepository,
+        ProductJdbcRepository {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "product-category-queries")
+    })
     Long countByCategory_name(String name);
 
+    long countByCategory_Id(Long categoryId);
+
+    boolean existsByIdAndCategory_Id(Long id, Long categoryId);
+
     boolean existsByName(String name);
 
     @Transactional
     int deleteByName(String name);
 
-    @Modifying
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("DELETE FROM Product p WHERE p.name = :name")
     int deleteProductUsingName(@Param("name") String name);
 
-    @Modifying
-    @Query("UPDATE Product p SET p.price = 0 WHERE p.id = :id")
+    @PriceOnly
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Product p SET p.price = 0, p.version = p.version + 1 WHERE p.id = :id")
     int updateProductPriceToZero(@Param("id") Long id);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "product-category-queries")
+    })
     List<Product> findAllByCategory_Name(String name);
 
+    @EntityGraph("Product.category")
+    List<Product> findAllWithCategoryByCategory_Name(String name);
+
     List<Product> findAllByCategory_Name(String name, Sort sort);
 
     Page<Product> findAllByCategory_Name(String name, Pageable pageable);
 
     List<Product> searchProductUsingName(@Param("name") String name, Pageable pageable);
 
+    @EntityGraph("Product.category")
+    @Query("SELECT p FROM Product p WHERE p.name = :name")
+    List<Product> searchProductWithCategoryUsingName(@Param("name") String name, Pageable pageable);
+
+    default List<Product> findAllWithCategory(Specification<Product> specification) {
+        return findBy(specification, query -> query.project("category").all());
+    }
+
     @Query(
             value = "SELECT p FROM Product p WHERE p.name LIKE :name OR p.category.name LIKE :name",
             countQuery = "SELECT count(p) FROM Product p WHERE p.name LIKE :name OR p.category.name LIKE :name"
     )
     Page<Product> searchProduct(@Param("name") String name, Pageable pageable);
 
-    Stream<Product> streamAllByCategory(Category category);
+    @Query("SELECT p FROM Product p WHERE p.name LIKE :name OR p.category.name LIKE :name")
+    Slice<Product> searchProductSlice(@Param("name") String name, Pageable pageable);
+
+    @Query("SELECT count(p) FROM Product p WHERE p.name LIKE :name OR p.category.name LIKE :name")
+    long countSearchProduct(@Param("name") String name);
+
+    @Query(
+            value = "SELECT count(*) FROM (SELECT 1 FROM products p JOIN categories c ON c.id = p.category_id " +
+                    "WHERE p.name LIKE :name OR c.name LIKE :name LIMIT :limit) matches",
+            nativeQuery = true
+    )
+    long countSearchProductUpTo(@Param("name") String name, @Param("limit") int limit);
+
+    @Query("SELECT new com.spring.data.jpa.model.ProductSearchEntry(p.id, p.name, p.category.id) FROM Product p")
+    Stream<ProductSearchEntry> streamSearchEntries();
 
     Slice<Product> findAllByCategory(Category category, Pageable pageable);
 
@@ -0,0 +1,33 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.model.ProductPrice;
+import com.spring.data.jpa.model.SimpleProduct;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.Arrays;
+
+// written out per record so a row costs one constructor call, no reflection or tuple conversion
+final class ProductRowMappers {
+
+    static final RowMapper<SimpleProduct> SIMPLE_PRODUCT = (resultSet, rowNumber) ->
+            new SimpleProduct(resultSet.getLong(1), resultSet.getString(2));
+
+    static final RowMapper<ProductPrice> PRODUCT_PRICE = (resultSet, rowNumber) ->
+            new ProductPrice(resultSet.getLong(1), resultSet.getLong(2));
+
+    static final ResultSetExtractor<long[]> FIRST_COLUMN = resultSet -> {
+        long[] values = new long[64];
+        int size = 0;
+        while (resultSet.next()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = resultSet.getLong(1);
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    };
+
+    private ProductRowMappers() {
+    }
+}
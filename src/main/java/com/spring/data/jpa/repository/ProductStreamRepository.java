@@ -0,0 +1,24 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ProductPrice;
+import com.spring.data.jpa.model.SimpleProduct;
+
+import java.util.stream.Stream;
+
+// every stream here holds a database cursor until it is closed, so consume it in try-with-resources.
+// The stateless ones also hold a connection of their own outside any Spring transaction, which an
+// unclosed stream leaks for good; the others need the caller's transaction and end with it
+public interface ProductStreamRepository {
+
+    Stream<Product> streamAllByCategory(Category category);
+
+    Stream<Product> streamAllByCategoryStateless(Long categoryId);
+
+    Stream<SimpleProduct> streamSimpleProductsByCategory(Long categoryId);
+
+    Stream<ProductPrice> streamProductPricesByCategory(Long categoryId);
+
+    Stream<Product> streamAllByCategoryDetached(Category category);
+}
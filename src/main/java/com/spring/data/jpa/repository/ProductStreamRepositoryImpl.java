@@ -0,0 +1,96 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ProductPrice;
+import com.spring.data.jpa.model.SimpleProduct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.stream.Stream;
+
+public class ProductStreamRepositoryImpl implements ProductStreamRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${product.stream.fetch-size:1000}")
+    private int fetchSize;
+
+    // a query method would fix the fetch size in an annotation, this one follows product.stream.fetch-size
+    @Override
+    public Stream<Product> streamAllByCategory(Category category) {
+        return entityManager.createQuery("SELECT p FROM Product p WHERE p.category = :category", Product.class)
+                .setParameter("category", category)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<Product> streamAllByCategoryStateless(Long categoryId) {
+        return stateless("SELECT p FROM Product p WHERE p.category.id = :categoryId ORDER BY p.id",
+                Product.class, categoryId);
+    }
+
+    @Override
+    public Stream<SimpleProduct> streamSimpleProductsByCategory(Long categoryId) {
+        return stateless("SELECT new com.spring.data.jpa.model.SimpleProduct(p.id, p.name) " +
+                        "FROM Product p WHERE p.category.id = :categoryId ORDER BY p.id",
+                SimpleProduct.class, categoryId);
+    }
+
+    @Override
+    public Stream<ProductPrice> streamProductPricesByCategory(Long categoryId) {
+        return stateless("SELECT new com.spring.data.jpa.model.ProductPrice(p.id, p.price) " +
+                        "FROM Product p WHERE p.category.id = :categoryId ORDER BY p.id",
+                ProductPrice.class, categoryId);
+    }
+
+    @Override
+    public Stream<Product> streamAllByCategoryDetached(Category category) {
+        return entityManager.createQuery("SELECT p FROM Product p WHERE p.category = :category ORDER BY p.id", Product.class)
+                .setParameter("category", category)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(product -> {
+                    entityManager.detach(product);
+                    return product;
+                });
+    }
+
+    // runs on its own connection and stays open until the caller closes the stream
+    private <T> Stream<T> stateless(String hql, Class<T> type, Long categoryId) {
+        StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession();
+        try {
+            Transaction transaction = session.beginTransaction();
+
+            return session.createSelectionQuery(hql, type)
+                    .setParameter("categoryId", categoryId)
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true)
+                    .getResultStream()
+                    .onClose(() -> {
+                        try {
+                            transaction.commit();
+                        } finally {
+                            session.close();
+                        }
+                    });
+        } catch (RuntimeException exception) {
+            session.close();
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.spring.data.jpa.search;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.event.BulkModificationEvent;
+import com.spring.data.jpa.model.ProductSearchEntry;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Component
+public class ProductSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private static final String PRODUCT_SQL = "SELECT id, name, category_id FROM products WHERE id IN (:ids)";
+
+    private static final String CATEGORY_SQL = "SELECT id, name FROM categories WHERE id IN (:ids)";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Value("${product.search-index.warm-up:true}")
+    private boolean warmUp;
+
+    @Value("${bulk.in-list-size:1000}")
+    private int inListSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Object rebuildMonitor = new Object();
+
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    private final Map<Long, String> productNames = new HashMap<>();
+
+    private final Map<Long, Long> productCategories = new HashMap<>();
+
+    private final Map<Long, Set<Long>> categoryProducts = new HashMap<>();
+
+    private final Map<Long, String> categoryNames = new HashMap<>();
+
+    private final Map<String, Set<Long>> productGrams = new HashMap<>();
+
+    private final Map<String, Set<Long>> categoryGrams = new HashMap<>();
+
+    // changes applied while a rebuild reads its snapshot, replayed on top of it; guarded by the write lock
+    private List<Runnable> journal;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmUp) {
+            rebuild();
+        }
+    }
+
+    // names are read back over the committing connection, which is still bound here, so a writer
+    // never waits on a second one; unknown rows leave a rebuild to the scheduler
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkModification(BulkModificationEvent event) {
+        if (event.priceOnly()) {
+            return;
+        }
+
+        if (event.domainType() == Product.class) {
+            if (event.hasIds()) {
+                refreshProducts(event.ids());
+            } else {
+                rebuildRequested.set(true);
+            }
+        } else if (event.domainType() == Category.class) {
+            if (event.hasIds()) {
+                refreshCategories(event.ids());
+            } else {
+                rebuildRequested.set(true);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.search-index.rebuild-interval:PT1S}",
+               initialDelayString = "${product.search-index.rebuild-interval:PT1S}")
+    public void rebuildIfRequested() {
+        if (rebuildRequested.get()) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            rebuildRequested.set(false);
+            applyLocked(() -> journal = new ArrayList<>());
+
+            List<Category> categories;
+            List<ProductSearchEntry> products;
+            try {
+                TransactionTemplate readOnly = readOnly();
+                categories = readOnly.execute(status -> categoryRepository.findAll());
+                products = readOnly.execute(status -> {
+                    try (Stream<ProductSearchEntry> entries = productRepository.streamSearchEntries()) {
+                        return entries.toList();
+                    }
+                });
+            } catch (RuntimeException exception) {
+                applyLocked(() -> journal = null);
+                throw exception;
+            }
+
+            applyLocked(() -> {
+                productNames.clear();
+                productCategories.clear();
+                categoryProducts.clear();
+                categoryNames.clear();
+                productGrams.clear();
+                categoryGrams.clear();
+
+                categories.forEach(category -> putCategory(category.getId(), category.getName()));
+                products.forEach(entry -> putProduct(entry.id(), entry.name(), entry.categoryId()));
+
+                // the snapshot may predate changes that committed while it was read
+                List<Runnable> changes = journal;
+                journal = null;
+                changes.forEach(Runnable::run);
+            });
+        }
+    }
+
+    public void index(Product product) {
+        Long id = product.getId();
+        String name = product.getName();
+        Long categoryId = product.getCategory() == null ? null : product.getCategory().getId();
+
+        apply(() -> {
+            removeProduct(id);
+            putProduct(id, name, categoryId);
+        });
+    }
+
+    public void index(Category category) {
+        Long id = category.getId();
+        String name = category.getName();
+
+        apply(() -> {
+            removeGrams(categoryGrams, categoryNames.remove(id), id);
+            putCategory(id, name);
+        });
+    }
+
+    public void remove(Product product) {
+        Long id = product.getId();
+
+        apply(() -> removeProduct(id));
+    }
+
+    public void remove(Category category) {
+        Long id = category.getId();
+
+        apply(() -> removeGrams(categoryGrams, categoryNames.remove(id), id));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return productNames.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // matches what name LIKE '%term%' would: % spans any run of characters, _ exactly one, \ escapes either
+    public List<Long> search(String term, int limit) {
+        if (term == null || term.isEmpty()) {
+            return List.of();
+        }
+        LikeTerm like = LikeTerm.parse(normalize(term));
+
+        lock.readLock().lock();
+        try {
+            TreeSet<Long> ids = new TreeSet<>(match(productGrams, productNames, like));
+            for (Long categoryId : match(categoryGrams, categoryNames, like)) {
+                ids.addAll(categoryProducts.getOrDefault(categoryId, Set.of()));
+            }
+
+            return ids.stream().limit(limit).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void refreshProducts(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += inListSize) {
+            List<Long> chunk = all.subList(from, Math.min(from + inListSize, all.size()));
+            List<ProductSearchEntry> entries = namedParameterJdbcTemplate.query(PRODUCT_SQL, Map.of("ids", chunk),
+                    (resultSet, rowNumber) -> new ProductSearchEntry(resultSet.getLong(1), resultSet.getString(2),
+                            resultSet.getObject(3, Long.class)));
+
+            apply(() -> {
+                chunk.forEach(this::removeProduct);
+                entries.forEach(entry -> putProduct(entry.id(), entry.name(), entry.categoryId()));
+            });
+        }
+    }
+
+    private void refreshCategories(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += inListSize) {
+            List<Long> chunk = all.subList(from, Math.min(from + inListSize, all.size()));
+            Map<Long, String> names = new HashMap<>();
+            namedParameterJdbcTemplate.query(CATEGORY_SQL, Map.of("ids", chunk),
+                    resultSet -> {
+                        names.put(resultSet.getLong(1), resultSet.getString(2));
+                    });
+
+            apply(() -> {
+                chunk.forEach(id -> removeGrams(categoryGrams, categoryNames.remove(id), id));
+                names.forEach(this::putCategory);
+            });
+        }
+    }
+
+    private void apply(Runnable change) {
+        applyLocked(() -> {
+            change.run();
+            if (journal != null) {
+                journal.add(change);
+            }
+        });
+    }
+
+    private void applyLocked(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private Collection<Long> match(Map<String, Set<Long>> grams, Map<Long, String> names, LikeTerm term) {
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String literal : term.literals()) {
+            for (String gram : grams(literal)) {
+                Set<Long> posting = grams.get(gram);
+                if (posting == null) {
+                    return List.of();
+                }
+                postings.add(posting);
+            }
+        }
+
+        if (postings.isEmpty()) {
+            return names.entrySet().stream()
+                    .filter(entry -> term.matches(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        // grams only narrow the candidates, the pattern decides
+        List<Long> matches = new ArrayList<>();
+        for (Long id : postings.get(0)) {
+            if (postings.stream().allMatch(posting -> posting.contains(id)) && term.matches(names.get(id))) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    private void putProduct(Long id, String name, Long categoryId) {
+        String normalized = normalize(name);
+        productNames.put(id, normalized);
+        addGrams(productGrams, normalized, id);
+
+        if (categoryId != null) {
+            productCategories.put(id, categoryId);
+            categoryProducts.computeIfAbsent(categoryId, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void removeProduct(Long id) {
+        removeGrams(productGrams, productNames.remove(id), id);
+
+        Long categoryId = productCategories.remove(id);
+        if (categoryId != null) {
+            Set<Long> products = categoryProducts.get(categoryId);
+            if (products != null) {
+                products.remove(id);
+            }
+        }
+    }
+
+    private void putCategory(Long id, String name) {
+        String normalized = normalize(name);
+        categoryNames.put(id, normalized);
+        addGrams(categoryGrams, normalized, id);
+    }
+
+    private void addGrams(Map<String, Set<Long>> grams, String name, Long id) {
+        for (String gram : grams(name)) {
+            grams.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void removeGrams(Map<String, Set<Long>> grams, String name, Long id) {
+        if (name == null) {
+            return;
+        }
+        for (String gram : grams(name)) {
+            Set<Long> posting = grams.get(gram);
+            if (posting != null && posting.remove(id) && posting.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // LIKE compares case-insensitively under the default collation
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private record LikeTerm(Pattern pattern, List<String> literals) {
+
+        static LikeTerm parse(String term) {
+            StringBuilder regex = new StringBuilder(".*");
+            List<String> literals = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+
+            for (int i = 0; i < term.length(); i++) {
+                char c = term.charAt(i);
+                if (c == '\\' && i + 1 < term.length()) {
+                    literal.append(term.charAt(++i));
+                } else if (c == '%' || c == '_') {
+                    append(regex, literals, literal);
+                    regex.append(c == '%' ? ".*" : ".");
+                } else {
+                    literal.append(c);
+                }
+            }
+            append(regex, literals, literal);
+            regex.append(".*");
+
+            return new LikeTerm(Pattern.compile(regex.toString(), Pattern.DOTALL), literals);
+        }
+
+        boolean matches(String name) {
+            return pattern.matcher(name).matches();
+        }
+
+        private static void append(StringBuilder regex, List<String> literals, StringBuilder literal) {
+            if (literal.isEmpty()) {
+                return;
+            }
+            regex.append(Pattern.quote(literal.toString()));
+            literals.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.spring.data.jpa.search;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ProductSearchIndexListener {
+
+    // the index needs the repositories, which need the EntityManagerFactory that is creating this listener
+    @Autowired
+    private ObjectProvider<ProductSearchIndex> productSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Product product) {
+            afterCommit(() -> productSearchIndex.getObject().index(product));
+        } else if (entity instanceof Category category) {
+            afterCommit(() -> productSearchIndex.getObject().index(category));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Product product) {
+            afterCommit(() -> productSearchIndex.getObject().remove(product));
+        } else if (entity instanceof Category category) {
+            afterCommit(() -> productSearchIndex.getObject().remove(category));
+        }
+    }
+
+    private void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package com.spring.data.jpa.service;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class BulkSaveService {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Transactional
+    public List<Category> saveCategories(List<Category> categories) {
+        return categoryRepository.bulkInsert(categories);
+    }
+
+    @Transactional
+    public List<Product> saveProducts(List<Product> products) {
+        return productRepository.bulkInsert(products);
+    }
+
+    @Transactional
+    public List<Product> saveCatalog(Category category, List<Product> products) {
+        categoryRepository.bulkInsert(List.of(category));
+        products.forEach(product -> product.setCategory(category));
+
+        return productRepository.bulkInsert(products);
+    }
+}
@@ -0,0 +1,82 @@
+package com.spring.data.jpa.service;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Category.products stays mapped for JPQL joins; large categories go through here instead of the collection
+@Service
+public class CategoryProductService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    public long size(Long categoryId) {
+        return productRepository.countByCategory_Id(categoryId);
+    }
+
+    public boolean contains(Long categoryId, Long productId) {
+        return productRepository.existsByIdAndCategory_Id(productId, categoryId);
+    }
+
+    @Transactional
+    public Product add(Long categoryId, Product product) {
+        // a reference needs neither a category select nor the product collection
+        Category category = entityManager.getReference(Category.class, categoryId);
+        product.setCategory(category);
+        Product saved = productRepository.save(product);
+
+        if (Hibernate.isInitialized(category) && Hibernate.isInitialized(category.getProducts())) {
+            category.getProducts().add(saved);
+        }
+        return saved;
+    }
+
+    public long[] productIds(Long categoryId) {
+        return productRepository.findIdsByCategoryId(categoryId);
+    }
+
+    // each chunk is detached once handled, so the persistence context never holds more than one chunk
+    @Transactional(readOnly = true)
+    public long forEachChunk(Long categoryId, int chunkSize, Consumer<List<Product>> consumer) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be greater than zero");
+        }
+
+        long total = 0;
+        long after = 0;
+        while (true) {
+            List<Product> chunk = entityManager.createQuery(
+                            "SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.id > :after ORDER BY p.id",
+                            Product.class)
+                    .setParameter("categoryId", categoryId)
+                    .setParameter("after", after)
+                    .setMaxResults(chunkSize)
+                    .getResultList();
+            if (chunk.isEmpty()) {
+                return total;
+            }
+
+            consumer.accept(chunk);
+            chunk.forEach(entityManager::detach);
+
+            total += chunk.size();
+            after = chunk.get(chunk.size() - 1).getId();
+            if (chunk.size() < chunkSize) {
+                return total;
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.spring.data.jpa.service;
 
+import com.spring.data.jpa.audit.AuditTouchQueue;
 import com.spring.data.jpa.entity.Category;
 import com.spring.data.jpa.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +24,13 @@ public class CategoryService {
     @Autowired
     private PlatformTransactionManager transactionManager;
 
+    @Autowired
+    private AuditTouchQueue auditTouchQueue;
+
+    public void touch(Long id) {
+        auditTouchQueue.touch(id);
+    }
+
     @Transactional
     public void create() {
         for (int i = 0; i < 5; i++) {
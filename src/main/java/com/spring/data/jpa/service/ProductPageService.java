@@ -0,0 +1,47 @@
+package com.spring.data.jpa.service;
+
+import com.spring.data.jpa.async.AsyncRepositoryFacade;
+import com.spring.data.jpa.async.Deadline;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ProductPage;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class ProductPageService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AsyncRepositoryFacade asyncRepositoryFacade;
+
+    @Transactional(readOnly = true)
+    public ProductPage load(String categoryName, String productName) {
+        return new ProductPage(
+                productRepository.findAllWithCategoryByCategory_Name(categoryName),
+                productRepository.countByCategory_name(categoryName),
+                productRepository.existsByName(productName)
+        );
+    }
+
+    // the three queries each take their own admission permit; a caller holding one should wait on the
+    // result through ConnectionAdmissionControl.await so its permit serves them in the meantime
+    public CompletableFuture<ProductPage> loadAsync(String categoryName, String productName, Duration timeout) {
+        Deadline deadline = Deadline.after(timeout);
+
+        CompletableFuture<List<Product>> products =
+                asyncRepositoryFacade.findAllWithCategoryByCategoryName(deadline, categoryName);
+        CompletableFuture<Long> count = asyncRepositoryFacade.countByCategoryName(deadline, categoryName);
+        CompletableFuture<Boolean> exists = asyncRepositoryFacade.existsByName(deadline, productName);
+
+        return AsyncRepositoryFacade.allOf(deadline, products, count, exists)
+                .thenApply(ignored -> new ProductPage(products.join(), count.join(), exists.join()));
+    }
+}
@@ -0,0 +1,147 @@
+package com.spring.data.jpa.service;
+
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class ProductPriceService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Value("${product.price.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${product.price.retry-backoff:10ms}")
+    private Duration retryBackoff;
+
+    private final Map<Long, PendingPrice> pending = new ConcurrentHashMap<>();
+
+    @Transactional
+    public Product updatePricePessimistic(Long id, Long price) {
+        Product product = productRepository.findFirstByIdEquals(id)
+                .orElseThrow(() -> new IllegalArgumentException("Product " + id + " not found"));
+        product.setPrice(price);
+        return productRepository.save(product);
+    }
+
+    public Product updatePrice(Long id, Long price) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionOperations.execute(transactionStatus -> {
+                    Product product = productRepository.findById(id)
+                            .orElseThrow(() -> new IllegalArgumentException("Product " + id + " not found"));
+                    product.setPrice(price);
+                    return productRepository.save(product);
+                });
+            } catch (OptimisticLockingFailureException exception) {
+                if (attempt >= maxAttempts) {
+                    throw exception;
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    // one writer per product keeps flushing the latest submitted price; false means an in-flight writer took it.
+    // Either way the call returns once a write carrying its price committed, and throws if that write failed
+    public boolean submitPrice(Long id, Long price) {
+        PendingPrice entry = pending.compute(id, (key, current) -> {
+            PendingPrice acquired = current == null ? new PendingPrice() : current;
+            acquired.submitters++;
+            return acquired;
+        });
+
+        try {
+            CompletableFuture<Void> written = entry.submit(price);
+            boolean wrote = false;
+            while (entry.hasPending() && entry.writing.compareAndSet(false, true)) {
+                try {
+                    PendingPrice.Batch batch = entry.take();
+                    try {
+                        updatePrice(id, batch.price());
+                        batch.written().complete(null);
+                        wrote |= batch.written() == written;
+                    } catch (RuntimeException exception) {
+                        batch.written().completeExceptionally(exception);
+                    }
+                } finally {
+                    entry.writing.set(false);
+                }
+            }
+
+            try {
+                written.join();
+            } catch (CompletionException exception) {
+                if (exception.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw exception;
+            }
+            return wrote;
+        } finally {
+            // the last submitter out drops the entry, so the map only holds products with writes in flight
+            pending.computeIfPresent(id, (key, current) -> --current.submitters == 0 ? null : current);
+        }
+    }
+
+    private void backoff(int attempt) {
+        long bound = retryBackoff.toNanos() << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(bound + 1)));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static class PendingPrice {
+
+        private final AtomicBoolean writing = new AtomicBoolean();
+
+        // guarded by the map's compute lock
+        private int submitters;
+
+        private long price;
+
+        private CompletableFuture<Void> next;
+
+        private synchronized CompletableFuture<Void> submit(long price) {
+            this.price = price;
+            if (next == null) {
+                next = new CompletableFuture<>();
+            }
+            return next;
+        }
+
+        private synchronized boolean hasPending() {
+            return next != null;
+        }
+
+        private synchronized Batch take() {
+            Batch batch = new Batch(price, next);
+            next = null;
+            return batch;
+        }
+
+        private record Batch(long price, CompletableFuture<Void> written) {
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.spring.data.jpa.service;
+
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ProductSearchResult;
+import com.spring.data.jpa.model.SearchTotalMode;
+import com.spring.data.jpa.repository.ProductRepository;
+import com.spring.data.jpa.search.ProductSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ProductSearchService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Value("${product.search.count-cap:10000}")
+    private int countCap;
+
+    @Value("${product.search.count-cache-ttl:30s}")
+    private Duration countCacheTtl;
+
+    @Value("${product.search.count-cache-size:10000}")
+    private int countCacheSize;
+
+    private final Map<String, CachedTotal> totals = new ConcurrentHashMap<>();
+
+    @Transactional(readOnly = true)
+    public Page<Product> searchPage(String name, Pageable pageable) {
+        return productRepository.searchProduct(name, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductSearchResult search(String name, Pageable pageable, SearchTotalMode mode) {
+        if (mode == SearchTotalMode.EXACT) {
+            Page<Product> page = productRepository.searchProduct(name, pageable);
+            return new ProductSearchResult(page.getContent(), page.hasNext(), page.getTotalElements(), false);
+        }
+
+        Slice<Product> slice = productRepository.searchProductSlice(name, pageable);
+
+        return switch (mode) {
+            case NONE -> new ProductSearchResult(slice.getContent(), slice.hasNext(), null, false);
+            case CAPPED -> cappedResult(name, slice);
+            case CACHED -> new ProductSearchResult(slice.getContent(), slice.hasNext(), cachedTotal(name), false);
+            case EXACT -> throw new IllegalStateException("Unreachable");
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public List<Product> searchIndexed(String term, int limit) {
+        List<Long> ids = productSearchIndex.search(term, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // ids deleted through bulk statements are simply missing from the hydrated list
+        return productRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(Product::getId))
+                .toList();
+    }
+
+    public void evictTotals() {
+        totals.clear();
+    }
+
+    private ProductSearchResult cappedResult(String name, Slice<Product> slice) {
+        // a short first page already knows its exact total without any count
+        if (slice.isFirst() && !slice.hasNext()) {
+            return new ProductSearchResult(slice.getContent(), false, (long) slice.getNumberOfElements(), false);
+        }
+
+        long total = productRepository.countSearchProductUpTo(name, countCap + 1);
+        boolean capped = total > countCap;
+
+        return new ProductSearchResult(slice.getContent(), slice.hasNext(), capped ? countCap : total, capped);
+    }
+
+    private long cachedTotal(String name) {
+        long now = System.nanoTime();
+
+        CachedTotal cached = totals.get(name);
+        if (cached != null && cached.expiresAt() - now > 0) {
+            return cached.total();
+        }
+
+        long total = productRepository.countSearchProduct(name);
+        if (totals.size() >= countCacheSize) {
+            totals.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+            if (totals.size() >= countCacheSize) {
+                totals.clear();
+            }
+        }
+        totals.put(name, new CachedTotal(total, now + countCacheTtl.toNanos()));
+
+        return total;
+    }
+
+    private record CachedTotal(long total, long expiresAt) {
+    }
+}
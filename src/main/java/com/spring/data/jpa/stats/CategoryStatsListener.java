@@ -0,0 +1,45 @@
+package com.spring.data.jpa.stats;
+
+import com.spring.data.jpa.entity.Product;
+import jakarta.persistence.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class CategoryStatsListener {
+
+    // Hibernate creates listeners while the EntityManagerFactory is still being built, so resolve on first use
+    @Autowired
+    private ObjectProvider<CategoryStatsService> categoryStatsService;
+
+    @PostLoad
+    public void onLoad(Product product) {
+        snapshot(product);
+    }
+
+    @PostPersist
+    public void onPersist(Product product) {
+        categoryStatsService.getObject().onInserted(categoryId(product), product.getPrice());
+        snapshot(product);
+    }
+
+    @PostUpdate
+    public void onUpdate(Product product) {
+        categoryStatsService.getObject().onUpdated(product.getLoadedCategoryId(), product.getLoadedPrice(),
+                categoryId(product), product.getPrice());
+        snapshot(product);
+    }
+
+    @PostRemove
+    public void onRemove(Product product) {
+        categoryStatsService.getObject().onDeleted(product.getLoadedCategoryId(), product.getLoadedPrice());
+    }
+
+    private void snapshot(Product product) {
+        product.setLoadedCategoryId(categoryId(product));
+        product.setLoadedPrice(product.getPrice());
+    }
+
+    private Long categoryId(Product product) {
+        return product.getCategory() == null ? null : product.getCategory().getId();
+    }
+}
@@ -0,0 +1,144 @@
+package com.spring.data.jpa.stats;
+
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.event.BulkModificationEvent;
+import com.spring.data.jpa.model.CategoryStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Service
+public class CategoryStatsService {
+
+    // ON DUPLICATE KEY UPDATE and VALUES() are MySQL upserts; H2 accepts them only in MODE=MySQL,
+    // so another database needs these rewritten as MERGE or ON CONFLICT
+    private static final String INCREMENT_SQL =
+            "INSERT INTO category_stats (category_id, product_count, price_sum, price_min, price_max, dirty) " +
+            "VALUES (?, 1, ?, ?, ?, TRUE) " +
+            "ON DUPLICATE KEY UPDATE product_count = product_count + 1, price_sum = price_sum + VALUES(price_sum), " +
+            "price_min = LEAST(COALESCE(price_min, VALUES(price_min)), VALUES(price_min)), " +
+            "price_max = GREATEST(COALESCE(price_max, VALUES(price_max)), VALUES(price_max))";
+
+    // removing the current min or max cannot be undone incrementally, so the row is recomputed on next read
+    private static final String DECREMENT_SQL =
+            "UPDATE category_stats SET product_count = product_count - 1, price_sum = price_sum - ?, " +
+            "dirty = (dirty OR COALESCE(price_min >= ?, TRUE) OR COALESCE(price_max <= ?, TRUE)) " +
+            "WHERE category_id = ?";
+
+    private static final String REPLACE_SQL =
+            "INSERT INTO category_stats (category_id, product_count, price_sum, price_min, price_max, dirty) " +
+            "VALUES (?, ?, ?, ?, ?, FALSE) " +
+            "ON DUPLICATE KEY UPDATE product_count = VALUES(product_count), price_sum = VALUES(price_sum), " +
+            "price_min = VALUES(price_min), price_max = VALUES(price_max), dirty = FALSE";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Transactional
+    public Optional<CategoryStats> findByCategoryId(Long categoryId) {
+        Optional<CategoryStats> stats = read(categoryId, false);
+        if (stats.isPresent()) {
+            return stats;
+        }
+
+        recompute(categoryId);
+        return read(categoryId, true);
+    }
+
+    public void onInserted(Long categoryId, Long price) {
+        if (categoryId != null && price != null) {
+            jdbcTemplate.update(INCREMENT_SQL, categoryId, price, price, price);
+        }
+    }
+
+    public void onDeleted(Long categoryId, Long price) {
+        if (categoryId != null && price != null) {
+            jdbcTemplate.update(DECREMENT_SQL, price, price, price, categoryId);
+        }
+    }
+
+    public void onUpdated(Long oldCategoryId, Long oldPrice, Long newCategoryId, Long newPrice) {
+        if (Objects.equals(oldCategoryId, newCategoryId) && Objects.equals(oldPrice, newPrice)) {
+            return;
+        }
+        onDeleted(oldCategoryId, oldPrice);
+        onInserted(newCategoryId, newPrice);
+    }
+
+    @EventListener
+    public void onBulkModification(BulkModificationEvent event) {
+        if (event.domainType() != Product.class) {
+            return;
+        }
+
+        if (event.hasCategoryIds()) {
+            event.categoryIds().forEach(categoryId ->
+                    jdbcTemplate.update("UPDATE category_stats SET dirty = TRUE WHERE category_id = ?", categoryId));
+        } else {
+            jdbcTemplate.update("UPDATE category_stats SET dirty = TRUE");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${category-stats.refresh-interval:PT5S}",
+               initialDelayString = "${category-stats.refresh-interval:PT5S}")
+    public void refreshDirty() {
+        List<Long> dirty = jdbcTemplate.queryForList(
+                "SELECT category_id FROM category_stats WHERE dirty = TRUE", Long.class);
+        dirty.forEach(categoryId -> transactionOperations.executeWithoutResult(status -> recompute(categoryId)));
+    }
+
+    @Scheduled(fixedDelayString = "${category-stats.reconcile-interval:PT10M}",
+               initialDelayString = "${category-stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        List<Long> categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories", Long.class);
+        categoryIds.forEach(categoryId -> transactionOperations.executeWithoutResult(status -> recompute(categoryId)));
+
+        jdbcTemplate.update("DELETE FROM category_stats WHERE category_id NOT IN (SELECT id FROM categories)");
+    }
+
+    private void recompute(Long categoryId) {
+        // lock the counter row first so the aggregate sees every product committed by concurrent writers
+        jdbcTemplate.query("SELECT category_id FROM category_stats WHERE category_id = ? FOR UPDATE",
+                (resultSet, rowNumber) -> resultSet.getLong(1), categoryId);
+
+        CategoryStats stats = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), COALESCE(SUM(price), 0), MIN(price), MAX(price) FROM products WHERE category_id = ?",
+                (resultSet, rowNumber) -> new CategoryStats(
+                        categoryId,
+                        resultSet.getLong(1),
+                        resultSet.getLong(2),
+                        resultSet.getObject(3, Long.class),
+                        resultSet.getObject(4, Long.class)
+                ),
+                categoryId
+        );
+        jdbcTemplate.update(REPLACE_SQL, categoryId, stats.productCount(), stats.priceSum(),
+                stats.priceMin(), stats.priceMax());
+    }
+
+    private Optional<CategoryStats> read(Long categoryId, boolean includeDirty) {
+        return jdbcTemplate.query(
+                "SELECT category_id, product_count, price_sum, price_min, price_max FROM category_stats " +
+                "WHERE category_id = ?" + (includeDirty ? "" : " AND dirty = FALSE"),
+                (resultSet, rowNumber) -> new CategoryStats(
+                        resultSet.getLong("category_id"),
+                        resultSet.getLong("product_count"),
+                        resultSet.getLong("price_sum"),
+                        resultSet.getObject("price_min", Long.class),
+                        resultSet.getObject("price_max", Long.class)
+                ),
+                categoryId
+        ).stream().findFirst();
+    }
+}
@@ -0,0 +1,132 @@
+package com.spring.data.jpa.synthetic;
+
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.event.BulkModificationEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+@Component
+public class SyntheticDataGenerator {
+
+    private static final String CATEGORY_SQL =
+            "INSERT INTO categories (name, created_date, last_modified_date) VALUES (?, ?, ?)";
+
+    private static final String PRODUCT_SQL =
+            "INSERT INTO products (name, price, category_id, version) VALUES (?, ?, ?, 0)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Value("${bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${synthetic.seed:42}")
+    private long seed;
+
+    // the rows the repository tests were written against: category 4 without products, so it can be deleted,
+    // and category 5 "GADGET MURAH" with products 1 and 2
+    public void fixtures() {
+        transactionOperations.executeWithoutResult(status -> insertFixtures());
+        afterGeneration(List.of(5L));
+    }
+
+    // back to what fixtures() leaves in a fresh database, ids included, for tests that delete fixture rows
+    public void resetFixtures() {
+        transactionOperations.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM products");
+            jdbcTemplate.update("DELETE FROM category_stats");
+            jdbcTemplate.update("DELETE FROM categories");
+        });
+        jdbcTemplate.execute("ALTER TABLE products AUTO_INCREMENT = 1");
+        jdbcTemplate.execute("ALTER TABLE categories AUTO_INCREMENT = 1");
+
+        transactionOperations.executeWithoutResult(status -> insertFixtures());
+        afterGeneration(null);
+    }
+
+    private void insertFixtures() {
+        for (String name : List.of("ELEKTRONIK", "FASHION", "MAKANAN", "AKSESORIS", "GADGET MURAH")) {
+            insertCategory(name);
+        }
+        jdbcTemplate.update(PRODUCT_SQL, "Apple Iphone 14 Pro Max", 25_000_000L, 5L);
+        jdbcTemplate.update(PRODUCT_SQL, "Apple Iphone 15 Pro Max", 35_000_000L, 5L);
+    }
+
+    // same seed and sizes always produce the same names and prices, in the same insert order
+    public List<Long> generate(int categories, int productsPerCategory) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Long> categoryIds = new ArrayList<>(categories);
+
+        for (int c = 0; c < categories; c++) {
+            String categoryName = "Category " + c;
+            Long categoryId = transactionOperations.execute(status -> insertCategory(categoryName));
+            categoryIds.add(categoryId);
+
+            List<Object[]> batch = new ArrayList<>(chunkSize);
+            for (int p = 0; p < productsPerCategory; p++) {
+                batch.add(new Object[]{"Product " + c + "-" + p, 1_000L * random.nextInt(1, 501), categoryId});
+                if (batch.size() == chunkSize) {
+                    insertProducts(batch);
+                    batch = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                insertProducts(batch);
+            }
+        }
+
+        afterGeneration(categoryIds);
+        return categoryIds;
+    }
+
+    private Long insertCategory(String name) {
+        Timestamp now = Timestamp.from(Instant.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CATEGORY_SQL, Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, name);
+            statement.setTimestamp(2, now);
+            statement.setTimestamp(3, now);
+            return statement;
+        }, keyHolder);
+
+        return Objects.requireNonNull(keyHolder.getKey()).longValue();
+    }
+
+    private void insertProducts(List<Object[]> batch) {
+        transactionOperations.executeWithoutResult(status -> jdbcTemplate.batchUpdate(PRODUCT_SQL, batch));
+    }
+
+    // rows written behind Hibernate's back: drop cached entities and queries, then let stats and the index catch up;
+    // without category ids every category counts as touched
+    private void afterGeneration(List<Long> categoryIds) {
+        entityManagerFactory.getCache().evictAll();
+        publisher.publishEvent(new BulkModificationEvent(Product.class, "generate", null, categoryIds));
+    }
+}
@@ -0,0 +1,42 @@
+package com.spring.data.jpa.synthetic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("embedded")
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataRunner.class);
+
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+
+    @Value("${synthetic.fixtures:true}")
+    private boolean fixtures;
+
+    @Value("${synthetic.categories:0}")
+    private int categories;
+
+    @Value("${synthetic.products-per-category:0}")
+    private int productsPerCategory;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (fixtures) {
+            syntheticDataGenerator.fixtures();
+        }
+        if (categories > 0) {
+            long start = System.nanoTime();
+            syntheticDataGenerator.generate(categories, productsPerCategory);
+            log.info("Generated {} categories with {} products each in {} ms", categories, productsPerCategory,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
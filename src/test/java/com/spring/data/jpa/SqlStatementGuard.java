@@ -0,0 +1,29 @@
+package com.spring.data.jpa;
+
+import com.spring.data.jpa.monitoring.SqlStatementCounter;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SqlStatementGuard {
+
+    private SqlStatementGuard() {
+    }
+
+    public static <T> T assertMaxStatements(long max, Supplier<T> call) {
+        long before = SqlStatementCounter.current();
+        T result = call.get();
+        long executed = SqlStatementCounter.current() - before;
+
+        assertTrue(executed <= max, "Expected at most " + max + " SQL statements but " + executed + " were executed");
+        return result;
+    }
+
+    public static void assertMaxStatements(long max, Runnable call) {
+        assertMaxStatements(max, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.spring.data.jpa.async;
+
+import com.spring.data.jpa.concurrency.ConnectionAdmissionControl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AsyncRepositoryFacadeTest {
+
+    @Autowired
+    private AsyncRepositoryFacade asyncRepositoryFacade;
+
+    @Autowired
+    private ConnectionAdmissionControl admissionControl;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void cancelStopsRunningQuery() throws InterruptedException {
+        CompletableFuture<Object> slow = asyncRepositoryFacade.readOnly(Deadline.after(Duration.ofSeconds(10)),
+                () -> entityManager
+                        .createNativeQuery("SELECT COUNT(*) FROM SYSTEM_RANGE(1, 1000000) a, SYSTEM_RANGE(1, 1000000) b")
+                        .getSingleResult());
+        Thread.sleep(300);
+        assertTrue(slow.cancel(false));
+
+        // the query would run for minutes and the transaction timeout is 10s; cancelled on the database,
+        // its permit and connection come back right away
+        long giveUp = System.nanoTime() + Duration.ofSeconds(3).toNanos();
+        while (admissionControl.getAvailablePermits() < admissionControl.getMaxPermits()
+                && System.nanoTime() < giveUp) {
+            Thread.sleep(10);
+        }
+        assertEquals(admissionControl.getMaxPermits(), admissionControl.getAvailablePermits());
+    }
+
+    @Test
+    void deadlineCancelsRunningQuery() {
+        Deadline deadline = Deadline.after(Duration.ofMillis(300));
+        CompletableFuture<Object> slow = asyncRepositoryFacade.readOnly(deadline, () -> entityManager
+                .createNativeQuery("SELECT COUNT(*) FROM SYSTEM_RANGE(1, 1000000) a, SYSTEM_RANGE(1, 1000000) b")
+                .getSingleResult());
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> AsyncRepositoryFacade.allOf(deadline, slow).join());
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertTrue(slow.isCancelled());
+    }
+}
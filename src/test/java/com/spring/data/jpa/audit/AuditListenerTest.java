@@ -0,0 +1,143 @@
+package com.spring.data.jpa.audit;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.event.BulkModificationEvent;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.service.CategoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "audit.touch.flush-interval=PT1H")
+class AuditListenerTest {
+
+    // runs inside the flush transaction, so throwing from it rolls the touch batch back
+    @TestConfiguration
+    static class FailingTouchListener {
+
+        static final AtomicBoolean failing = new AtomicBoolean();
+
+        @EventListener
+        void onBulkModification(BulkModificationEvent event) {
+            if (failing.get() && event.operation().equals("touch")) {
+                throw new IllegalStateException("touch flush failed");
+            }
+        }
+    }
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AuditTouchQueue auditTouchQueue;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AuditClock auditClock;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void sharedClock() {
+        List<Category> categories = transactionOperations.execute(status -> {
+            Category first = new Category();
+            first.setName("Audit Category 1");
+            Category second = new Category();
+            second.setName("Audit Category 2");
+
+            return categoryRepository.saveAll(List.of(first, second));
+        });
+        assertNotNull(categories);
+
+        try {
+            Instant createdDate = categories.get(0).getCreatedDate();
+            assertNotNull(createdDate);
+            assertEquals(createdDate, categories.get(0).getLastModifiedDate());
+            assertEquals(createdDate, categories.get(1).getCreatedDate());
+
+            Timer timer = meterRegistry.find("audit.stamp").tag("mode", "fast").tag("event", "create").timer();
+            assertNotNull(timer);
+        } finally {
+            categoryRepository.deleteAll(categories);
+        }
+    }
+
+    @Test
+    void clockPerTransaction() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transactionOperations.executeWithoutResult(status -> {
+            Instant outer = auditClock.now();
+            Instant inner = requiresNew.execute(innerStatus -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                return auditClock.now();
+            });
+
+            assertNotNull(inner);
+            assertTrue(inner.isAfter(outer));
+            assertEquals(outer, auditClock.now());
+        });
+    }
+
+    @Test
+    void touch() {
+        Category before = categoryRepository.findById(4L).orElse(null);
+        assertNotNull(before);
+
+        categoryService.touch(4L);
+        categoryService.touch(4L);
+        assertEquals(1, auditTouchQueue.pendingSize());
+        assertEquals(1, auditTouchQueue.flush());
+
+        Category after = categoryRepository.findById(4L).orElse(null);
+        assertNotNull(after);
+        assertNotNull(after.getLastModifiedDate());
+        assertTrue(before.getLastModifiedDate() == null
+                || !after.getLastModifiedDate().isBefore(before.getLastModifiedDate()));
+        assertEquals(0, auditTouchQueue.pendingSize());
+    }
+
+    @Test
+    void failedFlushKeepsTouches() {
+        categoryService.touch(4L);
+
+        FailingTouchListener.failing.set(true);
+        try {
+            assertThrows(IllegalStateException.class, auditTouchQueue::flush);
+        } finally {
+            FailingTouchListener.failing.set(false);
+        }
+
+        assertEquals(1, auditTouchQueue.pendingSize());
+        assertEquals(1, auditTouchQueue.flush());
+        assertEquals(0, auditTouchQueue.pendingSize());
+    }
+}
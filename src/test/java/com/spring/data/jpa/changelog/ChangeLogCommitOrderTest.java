@@ -0,0 +1,104 @@
+package com.spring.data.jpa.changelog;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ChangeBatch;
+import com.spring.data.jpa.model.ChangeLogEntry;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ChangeLogCommitOrderTest {
+
+    @Autowired
+    private ChangeLogPoller changeLogPoller;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void longTransactionIsNotSkipped() throws Exception {
+        long start = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM change_log", Long.class);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // different categories, so the two writers never wait on the same category_stats row
+        CompletableFuture<Product> slow = CompletableFuture.supplyAsync(() ->
+                transactionOperations.execute(status -> {
+                    Product product = productRepository.save(product("Slow Change Log Product", 2L));
+                    written.countDown();
+                    await(release);
+                    return product;
+                }));
+        Product fast = null;
+
+        try {
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            fast = productRepository.save(product("Fast Change Log Product", 3L));
+
+            ChangeBatch first = changeLogPoller.poll(start, 10);
+            assertEquals(List.of(fast.getId()), entityIds(first));
+
+            release.countDown();
+            Product committed = slow.get(10, TimeUnit.SECONDS);
+
+            ChangeBatch second = changeLogPoller.poll(first.lastSequence(), 10);
+            assertEquals(List.of(committed.getId()), entityIds(second));
+            assertTrue(second.lastSequence() > first.lastSequence());
+        } finally {
+            release.countDown();
+            if (fast != null) {
+                productRepository.deleteById(fast.getId());
+            }
+            Product committed = slow.get(10, TimeUnit.SECONDS);
+            productRepository.deleteById(committed.getId());
+        }
+    }
+
+    private Product product(String name, Long categoryId) {
+        Category category = categoryRepository.findById(categoryId).orElseThrow();
+
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(1_000L);
+        product.setCategory(category);
+        return product;
+    }
+
+    private List<Long> entityIds(ChangeBatch batch) {
+        return batch.entries().stream()
+                .filter(entry -> entry.operation() == ChangeOperation.INSERT)
+                .map(ChangeLogEntry::entityId)
+                .toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
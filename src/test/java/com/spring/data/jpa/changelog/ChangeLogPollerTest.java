@@ -0,0 +1,91 @@
+package com.spring.data.jpa.changelog;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ChangeBatch;
+import com.spring.data.jpa.model.ChangeLogEntry;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ChangeLogPollerTest {
+
+    @Autowired
+    private ChangeLogPoller changeLogPoller;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void changes() {
+        long start = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM change_log", Long.class);
+
+        Category category = categoryRepository.findById(4L).orElse(null);
+        assertNotNull(category);
+
+        Product product = new Product();
+        product.setName("Change Log Product");
+        product.setPrice(1_000L);
+        product.setCategory(category);
+        productRepository.save(product);
+
+        transactionOperations.executeWithoutResult(status ->
+                productRepository.bulkUpdatePriceByIds(List.of(product.getId()), 2_000L));
+        productRepository.deleteById(product.getId());
+
+        ChangeBatch batch = changeLogPoller.poll(start, 10);
+        List<ChangeOperation> operations = batch.entries().stream()
+                .filter(entry -> product.getId().equals(entry.entityId()))
+                .map(ChangeLogEntry::operation)
+                .toList();
+        assertEquals(List.of(ChangeOperation.INSERT, ChangeOperation.BULK, ChangeOperation.DELETE), operations);
+        assertEquals(batch.entries().get(batch.entries().size() - 1).sequence(), batch.lastSequence());
+    }
+
+    @Test
+    void rolledBack() {
+        long start = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM change_log", Long.class);
+
+        assertThrows(IllegalStateException.class, () -> transactionOperations.executeWithoutResult(status -> {
+            productRepository.bulkUpdatePriceByIds(List.of(1L), 1L);
+            throw new IllegalStateException("Rollback");
+        }));
+
+        assertTrue(changeLogPoller.poll(start, 10).isEmpty());
+    }
+
+    @Test
+    void acknowledge() {
+        String consumer = "test-" + UUID.randomUUID();
+        List<ChangeLogEntry> received = new ArrayList<>();
+
+        changeLogPoller.pollAndAcknowledge(consumer, received::addAll);
+        assertEquals(received.isEmpty() ? 0 : received.get(received.size() - 1).sequence(),
+                changeLogPoller.offset(consumer));
+
+        received.clear();
+        categoryRepository.findById(4L).ifPresent(category -> categoryRepository.save(category));
+        changeLogPoller.pollAndAcknowledge(consumer, received::addAll);
+        assertEquals(0, changeLogPoller.lag(consumer));
+    }
+}
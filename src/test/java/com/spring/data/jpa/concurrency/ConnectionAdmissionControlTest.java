@@ -0,0 +1,87 @@
+package com.spring.data.jpa.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionAdmissionControlTest {
+
+    private final ConnectionAdmissionControl admissionControl =
+            new ConnectionAdmissionControl(1, Duration.ofMillis(100), new SimpleMeterRegistry());
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void holderWaitsWithoutItsPermit() throws InterruptedException {
+        assertTrue(admissionControl.tryAcquire());
+        try {
+            // with a single permit, every level has to hand it on while it waits for the next one
+            CompletableFuture<Integer> nested = admissionControl.supplyAsync(() -> admissionControl.await(
+                    admissionControl.supplyAsync(admissionControl::getAvailablePermits, executor)), executor);
+
+            assertEquals(0, admissionControl.await(nested));
+            assertTrue(admissionControl.isHeldByCurrentThread());
+            assertEquals(0, admissionControl.getAvailablePermits());
+        } finally {
+            admissionControl.release();
+        }
+        assertEquals(1, admissionControl.getAvailablePermits());
+    }
+
+    @Test
+    void fanOutStaysWithinPermits() throws InterruptedException {
+        ConnectionAdmissionControl patient =
+                new ConnectionAdmissionControl(1, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        assertTrue(patient.tryAcquire());
+        try {
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                tasks.add(patient.runAsync(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    LockSupport.parkNanos(Duration.ofMillis(20).toNanos());
+                    running.decrementAndGet();
+                }, executor));
+            }
+
+            patient.await(CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)));
+            assertEquals(1, peak.get());
+        } finally {
+            patient.release();
+        }
+    }
+
+    @Test
+    void rejectionFailsTheFuture() throws InterruptedException {
+        assertTrue(admissionControl.tryAcquire());
+        try {
+            CompletableFuture<Void> rejected = CompletableFuture
+                    .supplyAsync(() -> admissionControl.runAsync(() -> fail("ran without a permit"), executor), executor)
+                    .thenCompose(future -> future);
+
+            CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+            assertInstanceOf(AdmissionRejectedException.class, exception.getCause());
+        } finally {
+            admissionControl.release();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.spring.data.jpa.controller;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+class ProductControllerLoadTest {
+
+    private static final int CLIENTS = 1_000;
+
+    private static final int REQUESTS_PER_CLIENT = 20;
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.threads.virtual.enabled=false",
+            "spring.jpa.properties.hibernate.show_sql=false"
+    })
+    class PlatformThreads {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void load() throws Exception {
+            run("platform", port);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.threads.virtual.enabled=true",
+            "spring.jpa.properties.hibernate.show_sql=false"
+    })
+    class VirtualThreads {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void load() throws Exception {
+            run("virtual", port);
+        }
+    }
+
+    private static void run(String mode, int port) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/products?category=GADGET%20MURAH")).build();
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies.add(System.nanoTime() - sent);
+                        if (response.statusCode() == 503) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p50 = sorted.get(sorted.size() / 2) / 1_000_000;
+        long p99 = sorted.get((int) (sorted.size() * 0.99)) / 1_000_000;
+        double throughput = sorted.size() / (elapsed / 1_000_000_000.0);
+
+        System.out.printf("%s threads: %d requests, %.0f req/s, p50 %d ms, p99 %d ms, %d rejected%n",
+                mode, sorted.size(), throughput, p50, p99, rejected.get());
+        assertEquals(CLIENTS * REQUESTS_PER_CLIENT, sorted.size());
+    }
+}
@@ -0,0 +1,120 @@
+package com.spring.data.jpa.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "datasource.replica.jdbc-url=jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "datasource.replica.driver-class-name=org.h2.Driver",
+        "datasource.replica.username=sa",
+        "datasource.replica.maximum-pool-size=4",
+        "datasource.replica.stickiness=1m",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "product.search-index.warm-up=false",
+        "product.price-index.warm-up=false"
+})
+class ReplicaRoutingDataSourceTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        mark(primaryDataSource, "primary");
+        mark(replicaDataSource, "replica");
+        ReplicaRoutingDataSource.resetStickiness();
+    }
+
+    @Test
+    void readOnlyGoesToReplica() {
+        assertEquals("replica", database(true));
+    }
+
+    @Test
+    void writesGoToPrimary() {
+        assertEquals("primary", database(false));
+    }
+
+    @Test
+    void readsStickToPrimaryAfterWrite() {
+        assertEquals("replica", database(true));
+        assertEquals("primary", database(false));
+        assertEquals("primary", database(true));
+
+        ReplicaRoutingDataSource.resetStickiness();
+        assertEquals("replica", database(true));
+    }
+
+    @Test
+    void readsOutsideTransactionDoNotStick() {
+        assertEquals("primary", new JdbcTemplate(dataSource).queryForObject("SELECT name FROM routing_marker", String.class));
+        assertEquals("replica", database(true));
+    }
+
+    @Test
+    void eachTransactionRoutesItsOwnConnection() {
+        // an entity manager held open for the whole request would hand the first routed connection to every transaction
+        assertTrue(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+
+        assertEquals("replica", entityManagerDatabase(true));
+        assertEquals("primary", entityManagerDatabase(false));
+    }
+
+    private String entityManagerDatabase(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+
+        return transactionTemplate.execute(status ->
+                (String) entityManager.createNativeQuery("SELECT name FROM routing_marker").getSingleResult());
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM routing_marker", String.class));
+    }
+
+    private void mark(DataSource target, String name) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(target);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS routing_marker (name VARCHAR(20))");
+        jdbcTemplate.update("DELETE FROM routing_marker");
+        jdbcTemplate.update("INSERT INTO routing_marker (name) VALUES (?)", name);
+    }
+}
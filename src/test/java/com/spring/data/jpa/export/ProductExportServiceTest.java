@@ -0,0 +1,91 @@
+package com.spring.data.jpa.export;
+
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ExportResult;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ProductExportServiceTest {
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void csv(@TempDir Path directory) throws IOException {
+        Product product = productRepository.findById(1L).orElseThrow();
+        String expected = product.getId() + "," + product.getName() + "," + product.getPrice() + ",5";
+
+        List<Double> progress = new ArrayList<>();
+        ExportResult result = productExportService.export(directory, ExportFormat.CSV,
+                update -> {
+                    synchronized (progress) {
+                        progress.add(update.fractionDone());
+                    }
+                });
+
+        assertEquals(productRepository.count(), result.rows());
+        assertEquals(result.partitions(), progress.size());
+
+        long lines = 0;
+        boolean found = false;
+        for (int partition = 0; partition < result.partitions(); partition++) {
+            List<String> content = Files.readAllLines(directory.resolve(ProductExportService.fileName(partition, ExportFormat.CSV)));
+            assertEquals("id,name,price,category_id", content.get(0));
+            lines += content.size() - 1;
+            found |= content.contains(expected);
+        }
+        assertEquals(result.rows(), lines);
+        assertTrue(found);
+    }
+
+    @Test
+    void columnar(@TempDir Path directory) throws IOException {
+        Product product = productRepository.findById(2L).orElseThrow();
+
+        ExportResult result = productExportService.export(directory, ExportFormat.COLUMNAR);
+
+        AtomicLong rows = new AtomicLong();
+        List<String> names = new ArrayList<>();
+        for (int partition = 0; partition < result.partitions(); partition++) {
+            rows.addAndGet(ColumnarProductReader.read(
+                    directory.resolve(ProductExportService.fileName(partition, ExportFormat.COLUMNAR)),
+                    (id, name, price, categoryId) -> {
+                        if (id == 2L) {
+                            names.add(name + ":" + price + ":" + categoryId);
+                        }
+                    }));
+        }
+
+        assertEquals(result.rows(), rows.get());
+        assertEquals(List.of(product.getName() + ":" + product.getPrice() + ":5"), names);
+    }
+
+    @Test
+    void resume(@TempDir Path directory) throws IOException {
+        ExportResult first = productExportService.export(directory, ExportFormat.CSV);
+        assertTrue(first.partitions() > 0);
+
+        Files.delete(directory.resolve(ProductExportService.fileName(0, ExportFormat.CSV)));
+        ExportResult second = productExportService.export(directory, ExportFormat.CSV);
+
+        assertEquals(first.partitions(), second.partitions());
+        assertEquals(first.partitions() - 1, second.skipped());
+        assertTrue(Files.exists(directory.resolve(ProductExportService.fileName(0, ExportFormat.CSV))));
+    }
+}
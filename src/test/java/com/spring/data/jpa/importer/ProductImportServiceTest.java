@@ -0,0 +1,75 @@
+package com.spring.data.jpa.importer;
+
+import com.spring.data.jpa.model.ImportResult;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "product.search-index.warm-up=false",
+        "import.segment-size=4KB"
+})
+@ActiveProfiles("embedded")
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void importCsv(@TempDir Path directory) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("name,price,category");
+        lines.add("Import Product 1,1000,GADGET MURAH");
+        lines.add("\"Import, Quoted \"\"Product\"\"\",2000,IMPORT NEW");
+        lines.add("Import Product 3,abc,GADGET MURAH");
+        lines.add("");
+        lines.add("Import Product 4,4000,IMPORT NEW");
+        lines.add("X".repeat(101) + ",5000,IMPORT NEW");
+        for (int i = 0; i < 3_000; i++) {
+            lines.add("Import Bulk " + i + "," + (i * 10) + ",IMPORT BULK " + (i % 3));
+        }
+
+        Path file = directory.resolve("products.csv");
+        Files.write(file, lines);
+
+        ImportResult result = productImportService.importCsv(file);
+
+        assertEquals(3_005, result.rows());
+        assertEquals(3_003, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(4, result.categoriesCreated());
+
+        assertEquals(1, categoryRepository.findAllByNameLike("IMPORT NEW").size());
+        assertEquals(2, productRepository.countByCategory_name("IMPORT NEW"));
+        assertEquals(1_000, productRepository.countByCategory_name("IMPORT BULK 2"));
+        assertTrue(productRepository.existsByName("Import, Quoted \"Product\""));
+
+        List<String> report = Files.readAllLines(result.rejectedReport());
+        assertEquals(3, report.size());
+        assertTrue(report.get(1).startsWith("4,\"price is not a whole number: abc\""));
+        assertTrue(report.get(2).startsWith("7,\"name is longer than 100 characters\""));
+
+        ImportResult again = productImportService.importCsv(file);
+        assertEquals(0, again.categoriesCreated());
+        assertEquals(4, productRepository.countByCategory_name("IMPORT NEW"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.spring.data.jpa.loader;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.BatchLoaderStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.spring.data.jpa.SqlStatementGuard.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BatchLoadersTest {
+
+    @Autowired
+    private BatchLoaders batchLoaders;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void batched() {
+        transactionOperations.executeWithoutResult(transactionStatus -> {
+            EntityBatchLoader<Product> products = batchLoaders.products();
+
+            CompletableFuture<Optional<Product>> first = products.load(1L);
+            CompletableFuture<Optional<Product>> second = products.load(2L);
+            CompletableFuture<Optional<Product>> again = products.load(1L);
+            CompletableFuture<Optional<Product>> missing = products.load(-1L);
+            assertFalse(first.isDone());
+
+            assertMaxStatements(1, products::dispatch);
+            assertEquals("Apple Iphone 14 Pro Max", first.join().map(Product::getName).orElse(null));
+            assertTrue(second.join().isPresent());
+            assertSame(first.join().orElse(null), again.join().orElse(null));
+            assertTrue(missing.join().isEmpty());
+
+            assertMaxStatements(0, () -> products.get(2L));
+            assertSame(products, batchLoaders.products());
+
+            BatchLoaderStats stats = products.stats();
+            assertEquals(5, stats.lookups());
+            assertEquals(1, stats.queries());
+            assertEquals(4, stats.savedQueries());
+        });
+    }
+
+    @Test
+    void getAll() {
+        transactionOperations.executeWithoutResult(transactionStatus -> {
+            Map<Long, Category> categories = batchLoaders.categories().getAll(List.of(4L, 4L, -1L));
+            assertEquals(1, categories.size());
+            assertNotNull(categories.get(4L));
+            assertEquals(1, batchLoaders.categories().stats().queries());
+        });
+    }
+
+    @Test
+    void scoped() {
+        // the test thread carries a mock request, a pool thread has neither request nor transaction
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> CompletableFuture.supplyAsync(batchLoaders::products).join());
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transactionOperations.executeWithoutResult(transactionStatus -> {
+            EntityBatchLoader<Product> outer = batchLoaders.products();
+
+            EntityBatchLoader<Product> inner = requiresNew.execute(status -> batchLoaders.products());
+            assertNotSame(outer, inner);
+
+            assertSame(outer, batchLoaders.products());
+        });
+    }
+}
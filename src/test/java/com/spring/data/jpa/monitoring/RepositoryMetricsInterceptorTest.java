@@ -0,0 +1,76 @@
+package com.spring.data.jpa.monitoring;
+
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RepositoryMetricsInterceptorTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void recordsInvocations() {
+        // a cached lookup runs no statement at all
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion("product-category-queries");
+        productRepository.findAllByCategory_Name("GADGET MURAH");
+        categoryRepository.findById(4L);
+
+        Timer timer = meterRegistry.find("repository.invocations")
+                .tag("repository", "ProductRepository")
+                .tag("method", "findAllByCategory_Name(String)")
+                .tag("outcome", "success")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+
+        DistributionSummary statements = meterRegistry.find("repository.statements")
+                .tag("method", "findAllByCategory_Name(String)")
+                .summary();
+        assertNotNull(statements);
+        assertTrue(statements.totalAmount() >= 1);
+
+        DistributionSummary rows = meterRegistry.find("repository.rows")
+                .tag("method", "findAllByCategory_Name(String)")
+                .summary();
+        assertNotNull(rows);
+        assertEquals(2, rows.max());
+
+        assertNotNull(meterRegistry.find("repository.invocations")
+                .tag("repository", "CategoryRepository")
+                .tag("method", "findById(Object)")
+                .timer());
+    }
+
+    @Test
+    void parameterShapes() {
+        String shapes = RepositoryMetricsInterceptor.shapes(new Object[]{
+                "secret name", new ArrayList<>(List.of(1L, 2L)), PageRequest.of(2, 20), null
+        });
+
+        assertEquals("[String(length=11), ArrayList(size=2), Pageable(page=2, size=20, sort=UNSORTED), null]", shapes);
+    }
+}
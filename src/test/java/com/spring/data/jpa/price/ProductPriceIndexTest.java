@@ -0,0 +1,141 @@
+package com.spring.data.jpa.price;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ProductPrice;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "product.price-index.rebuild-interval=PT1H")
+class ProductPriceIndexTest {
+
+    @Autowired
+    private ProductPriceIndex productPriceIndex;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Test
+    void coherent() {
+        productPriceIndex.rebuild();
+        assertEquals(productRepository.findProductPriceById(1L), productPriceIndex.find(1L));
+
+        Category category = categoryRepository.findById(4L).orElse(null);
+        assertNotNull(category);
+
+        Product product = new Product();
+        product.setName("Price Index Product");
+        product.setPrice(7_000L);
+        product.setCategory(category);
+        productRepository.save(product);
+        Long id = product.getId();
+
+        try {
+            assertEquals(7_000L, productPriceIndex.find(id).map(ProductPrice::price).orElse(null));
+
+            transactionOperations.executeWithoutResult(status -> productRepository.updateProductPriceToZero(id));
+            assertEquals(0L, productPriceIndex.find(id).map(ProductPrice::price).orElse(null));
+
+            transactionOperations.executeWithoutResult(status -> productRepository.bulkUpdatePriceByIds(List.of(id), 8_000L));
+            List<ProductPrice> range = productPriceIndex.findByCategory(4L, 8_000L, 8_000L);
+            assertTrue(range.contains(new ProductPrice(id, 8_000L)));
+        } finally {
+            productRepository.deleteById(id);
+        }
+
+        assertTrue(productPriceIndex.findByCategory(4L, 8_000L, 8_000L).stream().noneMatch(price -> price.id().equals(id)));
+        assertTrue(productPriceIndex.find(id).isEmpty());
+    }
+
+    @Test
+    void entityWrites() {
+        Category category = categoryRepository.findById(4L).orElse(null);
+        assertNotNull(category);
+
+        Product product = new Product();
+        product.setName("Price Index Entity Product");
+        product.setPrice(7_100L);
+        product.setCategory(category);
+        productRepository.save(product);
+        Long id = product.getId();
+
+        try {
+            // findByCategory only reads the table while a rebuild is pending, so only the entity listener can have put it there
+            assertFalse(productPriceIndex.isStale());
+            assertTrue(productPriceIndex.findByCategory(4L, 7_100L, 7_100L).contains(new ProductPrice(id, 7_100L)));
+
+            Product saved = productRepository.findById(id).orElseThrow();
+            saved.setPrice(7_200L);
+            productRepository.save(saved);
+            assertTrue(productPriceIndex.findByCategory(4L, 7_100L, 7_100L).stream().noneMatch(price -> price.id().equals(id)));
+            assertTrue(productPriceIndex.findByCategory(4L, 7_200L, 7_200L).contains(new ProductPrice(id, 7_200L)));
+        } finally {
+            productRepository.deleteById(id);
+        }
+
+        assertTrue(productPriceIndex.findByCategory(4L, 7_200L, 7_200L).stream().noneMatch(price -> price.id().equals(id)));
+    }
+
+    @Test
+    void unknownRows() {
+        Category category = categoryRepository.findById(4L).orElse(null);
+        assertNotNull(category);
+
+        Product product = new Product();
+        product.setName("Price Index Unknown Rows Product");
+        product.setPrice(7_300L);
+        product.setCategory(category);
+        productRepository.save(product);
+        Long id = product.getId();
+
+        try {
+            Specification<Product> specification = (root, query, builder) -> builder.equal(root.get("id"), id);
+            productRepository.bulkUpdatePrice(specification, 7_400L);
+
+            // the rebuild is left to the scheduler, lookups go to the table until it has run
+            assertTrue(productPriceIndex.isStale());
+            assertEquals(7_400L, productPriceIndex.find(id).map(ProductPrice::price).orElse(null));
+            assertTrue(productPriceIndex.findByCategory(4L, 7_400L, 7_400L).contains(new ProductPrice(id, 7_400L)));
+
+            productPriceIndex.rebuildIfStale();
+            assertFalse(productPriceIndex.isStale());
+            assertTrue(productPriceIndex.findByCategory(4L, 7_400L, 7_400L).contains(new ProductPrice(id, 7_400L)));
+            assertTrue(productPriceIndex.findByCategory(4L, 7_300L, 7_300L).stream().noneMatch(price -> price.id().equals(id)));
+        } finally {
+            productRepository.deleteById(id);
+        }
+    }
+
+    @Test
+    void longLongMap() {
+        LongLongMap map = new LongLongMap(4);
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, key * 10);
+        }
+        for (long key = 1; key <= 10_000; key += 2) {
+            assertTrue(map.remove(key));
+        }
+
+        assertEquals(5_000, map.size());
+        for (long key = 1; key <= 10_000; key++) {
+            assertEquals(key % 2 == 0 ? key * 10 : -1, map.get(key, -1));
+        }
+        assertFalse(map.remove(1));
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, 1));
+    }
+}
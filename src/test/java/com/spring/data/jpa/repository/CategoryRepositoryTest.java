@@ -1,8 +1,14 @@
 package com.spring.data.jpa.repository;
 
 import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.synthetic.SyntheticDataGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
@@ -17,6 +23,24 @@ class CategoryRepositoryTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+
+    @Value("${synthetic.fixtures:false}")
+    private boolean fixtures;
+
+    // delete removes category 4 and update expects it back, so on the embedded database every test starts from
+    // the fixtures
+    @BeforeEach
+    void resetFixtures() {
+        if (fixtures) {
+            syntheticDataGenerator.resetFixtures();
+        }
+    }
+
     @Test
     void insert() {
         Category category = new Category();
@@ -98,4 +122,51 @@ class CategoryRepositoryTest {
         List<Category> categories = categoryRepository.findAll(example);
         assertEquals(1, categories.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void secondLevelCache() {
+        Category category = new Category();
+        category.setName("Cached Category");
+        categoryRepository.save(category);
+
+        // only the statistics profile collects them for the whole application
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean enabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        try {
+            assertNotNull(categoryRepository.findById(category.getId()).orElse(null));
+            assertNotNull(categoryRepository.findById(category.getId()).orElse(null));
+            assertTrue(statistics.getSecondLevelCacheHitCount() >= 1);
+
+            assertNotNull(categoryRepository.findFirstByNameEquals("Cached Category").orElse(null));
+            assertNotNull(categoryRepository.findFirstByNameEquals("Cached Category").orElse(null));
+            assertEquals(1, statistics.getQueryCacheHitCount());
+
+            category.setName("Cached Category Renamed");
+            categoryRepository.save(category);
+            assertTrue(categoryRepository.findFirstByNameEquals("Cached Category").isEmpty());
+
+            categoryRepository.delete(category);
+            assertTrue(categoryRepository.findById(category.getId()).isEmpty());
+        } finally {
+            statistics.setStatisticsEnabled(enabled);
+        }
+    }
+
+    @Test
+    void bulkInsertEvictsQueryCache() {
+        assertTrue(categoryRepository.findFirstByNameEquals("Bulk Cached Category").isEmpty());
+
+        Category category = new Category();
+        category.setName("Bulk Cached Category");
+        List<Category> inserted = categoryRepository.bulkInsert(List.of(category));
+
+        try {
+            assertTrue(categoryRepository.findFirstByNameEquals("Bulk Cached Category").isPresent());
+        } finally {
+            categoryRepository.deleteAllByIdInBatch(inserted.stream().map(Category::getId).toList());
+        }
+    }
+}
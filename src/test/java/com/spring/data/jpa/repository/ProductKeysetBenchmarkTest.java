@@ -0,0 +1,89 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ProductSortKey;
+import com.spring.data.jpa.model.ProductWindow;
+import com.spring.data.jpa.service.BulkSaveService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.show_sql=false")
+class ProductKeysetBenchmarkTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    private static final int PAGES = 10_000;
+
+    private static final Set<Integer> SAMPLES = Set.of(1, 10, 100, 1_000, 5_000, 10_000);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BulkSaveService bulkSaveService;
+
+    private Category category;
+
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category();
+        category.setName("Keyset Benchmark");
+
+        products = new ArrayList<>(PAGE_SIZE * PAGES);
+        for (int i = 0; i < PAGE_SIZE * PAGES; i++) {
+            Product product = new Product();
+            product.setName("Keyset Product " + i);
+            product.setPrice((long) (i % 997) * 1_000L);
+            products.add(product);
+        }
+        bulkSaveService.saveCatalog(category, products);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllByIdInBatch(products.stream().map(Product::getId).toList());
+        categoryRepository.deleteById(category.getId());
+    }
+
+    @Test
+    void keysetAgainstOffset() {
+        String cursor = null;
+        for (int page = 1; page <= PAGES; page++) {
+            long start = System.nanoTime();
+            ProductWindow window = productRepository.scrollAllByCategory(category, ProductSortKey.PRICE, cursor, PAGE_SIZE);
+            long keysetMicros = (System.nanoTime() - start) / 1_000;
+
+            assertEquals(PAGE_SIZE, window.content().size());
+            cursor = window.nextCursor();
+
+            if (SAMPLES.contains(page)) {
+                start = System.nanoTime();
+                productRepository.findAllByCategory(category,
+                        PageRequest.of(page - 1, PAGE_SIZE, Sort.by("price", "id")));
+                long offsetMicros = (System.nanoTime() - start) / 1_000;
+
+                System.out.println("page " + page + " : keyset " + keysetMicros + " us, offset " + offsetMicros + " us");
+            }
+        }
+        assertNull(cursor);
+    }
+}
@@ -2,19 +2,32 @@ package com.spring.data.jpa.repository;
 
 import com.spring.data.jpa.entity.Category;
 import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.filter.ProductFilterCompiler;
+import com.spring.data.jpa.model.ProductFilter;
 import com.spring.data.jpa.model.ProductPrice;
+import com.spring.data.jpa.model.ProductSortKey;
+import com.spring.data.jpa.model.ProductWindow;
 import com.spring.data.jpa.model.SimpleProduct;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.validation.constraints.AssertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.support.TransactionOperations;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
+import static com.spring.data.jpa.SqlStatementGuard.assertMaxStatements;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -30,6 +43,18 @@ class ProductRepositoryTest {
     @Autowired
     private TransactionOperations transactionOperations;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductFilterCompiler productFilterCompiler;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void createProduct() {
         Category category = categoryRepository.findById(4L).orElse(null);
@@ -105,6 +130,38 @@ class ProductRepositoryTest {
         assertEquals(2L, count);
     }
 
+    @Test
+    void countCache() {
+        Category category = new Category();
+        category.setName("Count Cache Category");
+        categoryRepository.save(category);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean enabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Product product = new Product();
+        try {
+            assertEquals(0L, productRepository.countByCategory_name("Count Cache Category"));
+            assertEquals(0L, productRepository.countByCategory_name("Count Cache Category"));
+            assertEquals(1, statistics.getQueryCacheHitCount());
+
+            // a JDBC insert Hibernate never sees must still evict the cached count
+            product.setName("Count Cache Product");
+            product.setPrice(1_000L);
+            product.setCategory(category);
+            productRepository.bulkInsert(List.of(product));
+            assertEquals(1L, productRepository.countByCategory_name("Count Cache Category"));
+        } finally {
+            statistics.setStatisticsEnabled(enabled);
+            if (product.getId() != null) {
+                productRepository.deleteAllByIdInBatch(List.of(product.getId()));
+            }
+            categoryRepository.delete(category);
+        }
+    }
+
     @Test
     void exists() {
         boolean exists = productRepository.existsByName("Apple Iphone 14 Pro Max");
@@ -199,6 +256,42 @@ class ProductRepositoryTest {
         });
     }
 
+    @Test
+    void bulkModifying() {
+        transactionOperations.executeWithoutResult(transactionStatus -> {
+            Category category = categoryRepository.findById(4L).orElse(null);
+            assertNotNull(category);
+
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Product product = new Product();
+                product.setName("Bulk Samsung " + i);
+                product.setPrice(5_000_000L);
+                product.setCategory(category);
+                ids.add(productRepository.save(product).getId());
+            }
+
+            Product untouched = productRepository.findById(1L).orElse(null);
+            assertNotNull(untouched);
+
+            assertEquals(3, productRepository.bulkUpdatePriceByIds(ids, 4_000_000L));
+            assertTrue(entityManager.contains(category));
+            assertTrue(entityManager.contains(untouched));
+            assertEquals(4_000_000L, productRepository.findById(ids.get(0)).map(Product::getPrice).orElse(null));
+
+            Specification<Product> specification = (root, criteria, builder) ->
+                    builder.like(root.get("name"), "Bulk Samsung%");
+            assertEquals(3, productRepository.bulkUpdatePrice(specification, 3_000_000L));
+            assertEquals(3_000_000L, productRepository.findById(ids.get(1)).map(Product::getPrice).orElse(null));
+
+            assertTrue(entityManager.contains(category));
+
+            assertEquals(1, productRepository.bulkDeleteByIds(ids.subList(0, 1)));
+            assertEquals(2, productRepository.bulkDelete(specification));
+            assertFalse(productRepository.existsByName("Bulk Samsung 2"));
+        });
+    }
+
     @Test
     void stream() {
         transactionOperations.executeWithoutResult(transactionStatus -> {
@@ -210,6 +303,34 @@ class ProductRepositoryTest {
         });
     }
 
+    @Test
+    void streamStateless() {
+        Category category = categoryRepository.findById(5L).orElse(null);
+        assertNotNull(category);
+
+        try (Stream<Product> stream = productRepository.streamAllByCategoryStateless(category.getId())) {
+            assertEquals(2, stream.count());
+        }
+        try (Stream<SimpleProduct> stream = productRepository.streamSimpleProductsByCategory(category.getId())) {
+            assertEquals("Apple Iphone 14 Pro Max", stream.findFirst().map(SimpleProduct::name).orElse(null));
+        }
+        try (Stream<ProductPrice> stream = productRepository.streamProductPricesByCategory(category.getId())) {
+            assertEquals(2, stream.count());
+        }
+    }
+
+    @Test
+    void streamDetached() {
+        transactionOperations.executeWithoutResult(transactionStatus -> {
+            Category category = categoryRepository.findById(4L).orElse(null);
+            assertNotNull(category);
+
+            try (Stream<Product> stream = productRepository.streamAllByCategoryDetached(category)) {
+                stream.forEach(product -> assertFalse(entityManager.contains(product)));
+            }
+        });
+    }
+
     @Test
     void slice() {
         Pageable firstPage = PageRequest.of(0, 1);
@@ -224,6 +345,29 @@ class ProductRepositoryTest {
         }
     }
 
+    @Test
+    void keyset() {
+        Category category = categoryRepository.findById(5L).orElse(null);
+        assertNotNull(category);
+
+        ProductWindow first = productRepository.scrollAllByCategory(category, ProductSortKey.PRICE, null, 1);
+        assertEquals(1, first.content().size());
+        assertEquals("Apple Iphone 14 Pro Max", first.content().get(0).getName());
+        assertTrue(first.hasNext());
+        assertFalse(first.hasPrevious());
+
+        ProductWindow second = productRepository.scrollAllByCategory(category, ProductSortKey.PRICE, first.nextCursor(), 1);
+        assertEquals(1, second.content().size());
+        assertEquals("Apple Iphone 15 Pro Max", second.content().get(0).getName());
+        assertFalse(second.hasNext());
+        assertTrue(second.hasPrevious());
+
+        ProductWindow back = productRepository.scrollAllByCategory(category, ProductSortKey.PRICE, second.previousCursor(), 1);
+        assertEquals(1, back.content().size());
+        assertEquals("Apple Iphone 14 Pro Max", back.content().get(0).getName());
+        assertFalse(back.hasPrevious());
+    }
+
     @Test
     void lock1() {
         transactionOperations.executeWithoutResult(transactionStatus -> {
@@ -268,6 +412,102 @@ class ProductRepositoryTest {
         assertEquals(2, products.size());
     }
 
+    @Test
+    void filter() {
+        Category category = categoryRepository.findById(4L).orElse(null);
+        assertNotNull(category);
+
+        List<Product> saved = new ArrayList<>();
+        for (long price : new long[]{100L, 200L}) {
+            Product product = new Product();
+            product.setName("Filter Kettle " + price);
+            product.setPrice(price);
+            product.setCategory(category);
+            saved.add(productRepository.save(product));
+        }
+
+        try {
+            ProductFilter filter = ProductFilter.builder()
+                    .name(" Filter Kettle 200")
+                    .name("Filter Kettle 100")
+                    .name("Filter Kettle 100")
+                    .minPrice(0L)
+                    .build();
+            assertEquals(List.of("Filter Kettle 100", "Filter Kettle 200"), filter.normalize().names());
+
+            Slice<Product> slice = productRepository.filter(filter, PageRequest.of(0, 1));
+            assertEquals(1, slice.getContent().size());
+            assertTrue(slice.hasNext());
+            assertEquals(2, productRepository.countFilter(filter));
+            assertEquals(2, productRepository.findAll(filter.toSpecification()).size());
+
+            ProductFilter other = filter.toBuilder().minPrice(150L).build();
+            assertEquals(filter.normalize().shape(), other.normalize().shape());
+            List<Product> products = productRepository.filter(other, Pageable.unpaged()).getContent();
+            assertEquals(1, products.size());
+            assertEquals("Filter Kettle 200", products.get(0).getName());
+
+            // the repository proxy translates the IllegalArgumentException like any other data access error
+            assertThrows(InvalidDataAccessApiUsageException.class, () ->
+                    productRepository.countFilter(ProductFilter.builder().minPrice(10L).maxPrice(1L).build()));
+
+            assertTrue(productFilterCompiler.hitRatio() > 0);
+        } finally {
+            productRepository.deleteAll(saved);
+        }
+    }
+
+    @Test
+    void filterPlanCacheWithoutStatistics() {
+        // what the default profile runs with; the ratio must not depend on Hibernate statistics
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean enabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(false);
+        statistics.clear();
+
+        try {
+            ProductFilter filter = ProductFilter.builder().maxPrice(1L).build();
+            productRepository.countFilter(filter);
+            productRepository.countFilter(filter);
+
+            Gauge gauge = meterRegistry.find("product.filter.plan.cache.hit.ratio").gauge();
+            assertNotNull(gauge);
+            assertTrue(gauge.value() > 0 && gauge.value() <= 1);
+            assertEquals(0, statistics.getQueryPlanCacheHitCount());
+        } finally {
+            statistics.setStatisticsEnabled(enabled);
+        }
+    }
+
+    @Test
+    void fetchPlan() {
+        transactionOperations.executeWithoutResult(transactionStatus -> assertMaxStatements(1, () -> {
+            List<Product> products = productRepository.findAllWithCategoryByCategory_Name("GADGET MURAH");
+            assertEquals(2, products.size());
+            products.forEach(product -> assertEquals("GADGET MURAH", product.getCategory().getName()));
+        }));
+
+        transactionOperations.executeWithoutResult(transactionStatus -> assertMaxStatements(1, () -> {
+            List<Product> products = productRepository
+                    .searchProductWithCategoryUsingName("Apple Iphone 14 Pro Max", PageRequest.of(0, 1));
+            assertEquals("GADGET MURAH", products.get(0).getCategory().getName());
+        }));
+
+        Specification<Product> specification = (root, criteria, builder) ->
+                builder.like(root.get("name"), "Apple%");
+        transactionOperations.executeWithoutResult(transactionStatus -> assertMaxStatements(1, () -> {
+            List<Product> products = productRepository.findAllWithCategory(specification);
+            assertEquals(2, products.size());
+            products.forEach(product -> assertNotNull(product.getCategory().getName()));
+        }));
+    }
+
+    @Test
+    void lazyCategory() {
+        List<Product> products = assertMaxStatements(1, () -> productRepository.findAllByCategory_Name("GADGET MURAH"));
+        assertEquals(2, products.size());
+    }
+
     @Test
     void projection() {
         List<SimpleProduct> simpleProducts = productRepository
@@ -278,4 +518,24 @@ class ProductRepositoryTest {
                 .findAllByNameLike("%Apple%", ProductPrice.class);
         assertEquals(2, productPrices.size());
     }
+
+    @Test
+    void projectionJdbc() {
+        List<SimpleProduct> simpleProducts = productRepository.findSimpleProductsByNameLike("%Apple%");
+        assertEquals(productRepository.findAllByNameLike("%Apple%", SimpleProduct.class).size(), simpleProducts.size());
+
+        List<ProductPrice> productPrices = productRepository.findProductPricesByNameLike("%Apple%");
+        assertEquals(2, productPrices.size());
+
+        long[] ids = productRepository.findIdsByNameLike("%Apple%");
+        assertArrayEquals(simpleProducts.stream().mapToLong(SimpleProduct::id).toArray(), ids);
+
+        long[] prices = productRepository.findPricesByCategoryId(5L);
+        assertEquals(productRepository.countByCategory_name("GADGET MURAH"), prices.length);
+
+        ProductPrice productPrice = productRepository.findProductPriceById(1L).orElse(null);
+        assertNotNull(productPrice);
+        assertEquals(productRepository.findById(1L).map(Product::getPrice).orElse(null), productPrice.price());
+        assertTrue(productRepository.findProductPriceById(-1L).isEmpty());
+    }
 }
\ No newline at end of file
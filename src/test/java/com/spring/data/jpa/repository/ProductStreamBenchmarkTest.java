@@ -0,0 +1,101 @@
+package com.spring.data.jpa.repository;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.SimpleProduct;
+import com.spring.data.jpa.service.BulkSaveService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.show_sql=false")
+class ProductStreamBenchmarkTest {
+
+    private static final int PRODUCTS = 2_000_000;
+
+    private static final int SAMPLE_EVERY = 250_000;
+
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BulkSaveService bulkSaveService;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category();
+        category.setName("Stream Benchmark");
+        bulkSaveService.saveCategories(List.of(category));
+
+        for (int from = 0; from < PRODUCTS; from += 100_000) {
+            List<Product> products = new ArrayList<>(100_000);
+            for (int i = from; i < from + 100_000; i++) {
+                Product product = new Product();
+                product.setName("Stream Product " + i);
+                product.setPrice((long) i);
+                product.setCategory(category);
+                products.add(product);
+            }
+            bulkSaveService.saveProducts(products);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        try (Stream<SimpleProduct> stream = productRepository.streamSimpleProductsByCategory(category.getId())) {
+            List<Long> ids = stream.map(SimpleProduct::id).toList();
+            for (int from = 0; from < ids.size(); from += 10_000) {
+                productRepository.deleteAllByIdInBatch(ids.subList(from, Math.min(from + 10_000, ids.size())));
+            }
+        }
+        categoryRepository.deleteById(category.getId());
+    }
+
+    @Test
+    void heapStaysFlat() {
+        long baseline = usedHeap();
+        AtomicLong peak = new AtomicLong(baseline);
+        AtomicLong rows = new AtomicLong();
+
+        long start = System.nanoTime();
+        try (Stream<Product> stream = productRepository.streamAllByCategoryStateless(category.getId())) {
+            stream.forEach(product -> {
+                if (rows.incrementAndGet() % SAMPLE_EVERY == 0) {
+                    long used = usedHeap();
+                    peak.accumulateAndGet(used, Math::max);
+                    System.out.println(rows.get() + " rows, used heap " + used / (1024 * 1024) + " MB");
+                }
+            });
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("streamed " + rows.get() + " rows in " + millis + " ms, peak growth "
+                + (peak.get() - baseline) / (1024 * 1024) + " MB");
+        assertEquals(PRODUCTS, rows.get());
+        assertTrue(peak.get() - baseline < MAX_HEAP_GROWTH);
+    }
+
+    private long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
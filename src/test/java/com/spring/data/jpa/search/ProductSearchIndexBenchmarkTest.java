@@ -0,0 +1,98 @@
+package com.spring.data.jpa.search;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import com.spring.data.jpa.service.BulkSaveService;
+import com.spring.data.jpa.service.ProductSearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.show_sql=false")
+class ProductSearchIndexBenchmarkTest {
+
+    private static final int PRODUCTS = 100_000;
+
+    private static final int ROUNDS = 200;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BulkSaveService bulkSaveService;
+
+    private Category category;
+
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category();
+        category.setName("Search Benchmark");
+
+        products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("Search Product " + Integer.toHexString(i * 7919));
+            product.setPrice((long) i);
+            products.add(product);
+        }
+        bulkSaveService.saveCatalog(category, products);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllByIdInBatch(products.stream().map(Product::getId).toList());
+        categoryRepository.deleteById(category.getId());
+        // deleteAllByIdInBatch is Spring Data's own bulk delete and publishes no event
+        productSearchIndex.rebuild();
+    }
+
+    @Test
+    void indexAgainstLike() {
+        String term = Integer.toHexString(4_242 * 7919);
+        Pageable pageable = PageRequest.of(0, 20);
+
+        List<Product> indexed = productSearchService.searchIndexed(term, 20);
+        List<Product> liked = productRepository.searchProduct("%" + term + "%", pageable).getContent();
+        assertFalse(indexed.isEmpty());
+        assertEquals(liked.size(), indexed.size());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            productRepository.searchProduct("%" + term + "%", pageable);
+        }
+        long likeMicros = (System.nanoTime() - start) / 1_000 / ROUNDS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            productSearchService.searchIndexed(term, 20);
+        }
+        long indexMicros = (System.nanoTime() - start) / 1_000 / ROUNDS;
+
+        System.out.println("LIKE query    : " + likeMicros + " us/search over " + PRODUCTS + " products");
+        System.out.println("indexed search: " + indexMicros + " us/search over " + PRODUCTS + " products");
+    }
+}
@@ -0,0 +1,131 @@
+package com.spring.data.jpa.service;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BulkSaveServiceTest {
+
+    @Autowired
+    private BulkSaveService bulkSaveService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void saveCategories() {
+        List<Category> categories = bulkSaveService.saveCategories(categories("Bulk Category ", 1_234));
+
+        Set<Long> ids = new HashSet<>();
+        for (Category category : categories) {
+            assertNotNull(category.getId());
+            assertNotNull(category.getCreatedDate());
+            assertNotNull(category.getLastModifiedDate());
+            ids.add(category.getId());
+        }
+        assertEquals(1_234, ids.size());
+
+        Category first = categoryRepository.findById(categories.get(0).getId()).orElse(null);
+        assertNotNull(first);
+        assertEquals("Bulk Category 0", first.getName());
+
+        categoryRepository.deleteAllByIdInBatch(ids);
+    }
+
+    @Test
+    void saveCatalog() {
+        Category category = new Category();
+        category.setName("Bulk Catalog");
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            Product product = new Product();
+            product.setName("Bulk Product " + i);
+            product.setPrice(1_000L * i);
+            products.add(product);
+        }
+
+        bulkSaveService.saveCatalog(category, products);
+
+        assertNotNull(category.getId());
+        assertTrue(products.stream().allMatch(product -> product.getId() != null));
+        assertEquals(1_000L, productRepository.countByCategory_name("Bulk Catalog"));
+
+        productRepository.deleteAllByIdInBatch(products.stream().map(Product::getId).toList());
+        categoryRepository.deleteById(category.getId());
+    }
+
+    @Test
+    void keepsCallerEntities() {
+        Product product = new Product();
+        product.setName("Bulk Neighbour Product");
+        product.setPrice(1_000L);
+
+        transactionOperations.executeWithoutResult(transactionStatus -> {
+            Category category = categoryRepository.findById(4L).orElseThrow();
+            product.setCategory(category);
+            productRepository.bulkInsert(List.of(product));
+
+            assertTrue(entityManager.contains(category));
+        });
+
+        assertNotNull(product.getId());
+        productRepository.deleteAllByIdInBatch(List.of(product.getId()));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkAgainstSaveLoop() {
+        int total = 10_000;
+
+        List<Category> looped = categories("Loop Category ", total);
+        long start = System.nanoTime();
+        transactionOperations.executeWithoutResult(transactionStatus -> looped.forEach(categoryRepository::save));
+        long loopMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<Category> bulked = categories("Bulk Category ", total);
+        start = System.nanoTime();
+        bulkSaveService.saveCategories(bulked);
+        long bulkMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("save loop : " + total + " rows in " + loopMillis + " ms");
+        System.out.println("bulk save : " + total + " rows in " + bulkMillis + " ms");
+
+        categoryRepository.deleteAllByIdInBatch(looped.stream().map(Category::getId).toList());
+        categoryRepository.deleteAllByIdInBatch(bulked.stream().map(Category::getId).toList());
+    }
+
+    private List<Category> categories(String prefix, int total) {
+        List<Category> categories = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            Category category = new Category();
+            category.setName(prefix + i);
+            categories.add(category);
+        }
+        return categories;
+    }
+}
@@ -0,0 +1,69 @@
+package com.spring.data.jpa.service;
+
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CategoryProductServiceTest {
+
+    @Autowired
+    private CategoryProductService categoryProductService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void withoutInitializing() {
+        long size = categoryProductService.size(5L);
+        assertEquals(productRepository.countByCategory_name("GADGET MURAH"), size);
+        assertTrue(categoryProductService.contains(5L, 1L));
+        assertFalse(categoryProductService.contains(5L, -1L));
+
+        Product product = new Product();
+        product.setName("Category Product");
+        product.setPrice(1_000L);
+        product = categoryProductService.add(5L, product);
+
+        try {
+            assertEquals(size + 1, categoryProductService.size(5L));
+            assertTrue(categoryProductService.contains(5L, product.getId()));
+
+            long[] ids = categoryProductService.productIds(5L);
+            assertEquals(size + 1, ids.length);
+            assertEquals(product.getId(), ids[ids.length - 1]);
+        } finally {
+            productRepository.deleteById(product.getId());
+        }
+    }
+
+    @Test
+    void chunks() {
+        transactionOperations.executeWithoutResult(status -> {
+            List<Long> ids = new ArrayList<>();
+            long total = categoryProductService.forEachChunk(5L, 1, chunk -> {
+                assertEquals(1, chunk.size());
+                assertTrue(entityManager.contains(chunk.get(0)));
+                ids.add(chunk.get(0).getId());
+            });
+
+            assertEquals(ids.size(), total);
+            assertArrayEquals(categoryProductService.productIds(5L), ids.stream().mapToLong(Long::longValue).toArray());
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.spring.data.jpa.service;
+
+import com.spring.data.jpa.model.ProductPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ProductPageServiceTest {
+
+    @Autowired
+    private ProductPageService productPageService;
+
+    @Test
+    void loadAsync() throws Exception {
+        // the latency comparison lives in ProductPageBenchmark, this only checks both paths agree
+        ProductPage sequential = productPageService.load("GADGET MURAH", "Apple Iphone 14 Pro Max");
+        ProductPage parallel = productPageService
+                .loadAsync("GADGET MURAH", "Apple Iphone 14 Pro Max", Duration.ofSeconds(5))
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(sequential.count(), parallel.count());
+        assertEquals(sequential.exists(), parallel.exists());
+        assertEquals(sequential.products().size(), parallel.products().size());
+        assertNotNull(parallel.products().get(0).getCategory().getName());
+    }
+
+    @Test
+    void deadline() {
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> productPageService
+                .loadAsync("GADGET MURAH", "Apple Iphone 14 Pro Max", Duration.ZERO)
+                .get(10, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+    }
+}
@@ -0,0 +1,87 @@
+package com.spring.data.jpa.service;
+
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "product.price.max-attempts=50")
+class ProductPriceServiceTest {
+
+    @Autowired
+    private ProductPriceService productPriceService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void optimistic() throws Exception {
+        Product before = productRepository.findById(1L).orElse(null);
+        assertNotNull(before);
+
+        List<Future<Product>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 1; i <= 16; i++) {
+                long price = i * 1_000_000L;
+                futures.add(executor.submit(() -> productPriceService.updatePrice(1L, price)));
+            }
+        }
+        for (Future<Product> future : futures) {
+            assertNotNull(future.get());
+        }
+
+        Product after = productRepository.findById(1L).orElse(null);
+        assertNotNull(after);
+        assertTrue(after.getVersion() > before.getVersion());
+    }
+
+    @Test
+    void coalesced() throws Exception {
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 1; i <= 64; i++) {
+                long price = i * 1_000L;
+                futures.add(executor.submit(() -> productPriceService.submitPrice(1L, price)));
+            }
+        }
+
+        int writers = 0;
+        for (Future<Boolean> future : futures) {
+            if (future.get()) {
+                writers++;
+            }
+        }
+        assertTrue(writers >= 1);
+
+        Product product = productRepository.findById(1L).orElse(null);
+        assertNotNull(product);
+        assertTrue(product.getPrice() % 1_000L == 0 && product.getPrice() <= 64_000L);
+    }
+
+    @Test
+    void coalescedFailure() throws Exception {
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 1; i <= 16; i++) {
+                long price = i * 1_000L;
+                futures.add(executor.submit(() -> productPriceService.submitPrice(-1L, price)));
+            }
+        }
+
+        // every caller learns its price was not written, not only the one that ran the failing update
+        for (Future<Boolean> future : futures) {
+            ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.spring.data.jpa.service;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.ProductSearchResult;
+import com.spring.data.jpa.model.SearchTotalMode;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "product.search.count-cap=1")
+class ProductSearchServiceTest {
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private BulkSaveService bulkSaveService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private final Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Order.desc("id")));
+
+    @Test
+    void withoutTotal() {
+        ProductSearchResult result = productSearchService.search("%Iphone%", pageable, SearchTotalMode.NONE);
+
+        assertEquals(1, result.content().size());
+        assertTrue(result.hasNext());
+        assertFalse(result.hasTotal());
+    }
+
+    @Test
+    void cappedTotal() {
+        ProductSearchResult result = productSearchService.search("%Iphone%", pageable, SearchTotalMode.CAPPED);
+
+        assertEquals(1, result.content().size());
+        assertEquals(1L, result.total());
+        assertTrue(result.totalCapped());
+        assertEquals("1+", result.totalLabel());
+    }
+
+    @Test
+    void cachedTotal() {
+        productSearchService.evictTotals();
+
+        ProductSearchResult result = productSearchService.search("%GADGET%", pageable, SearchTotalMode.CACHED);
+        assertEquals(2L, result.total());
+
+        result = productSearchService.search("%GADGET%", pageable.next(), SearchTotalMode.CACHED);
+        assertEquals(2L, result.total());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void exactTotal() {
+        ProductSearchResult result = productSearchService.search("%Iphone%", pageable, SearchTotalMode.EXACT);
+
+        assertEquals(2L, result.total());
+        assertFalse(result.totalCapped());
+    }
+
+    @Test
+    void indexed() {
+        List<Product> products = productSearchService.searchIndexed("iphone", 10);
+        assertEquals(2, products.size());
+        assertEquals("Apple Iphone 14 Pro Max", products.get(0).getName());
+
+        products = productSearchService.searchIndexed("GADGET", 10);
+        assertEquals(2, products.size());
+
+        products = productSearchService.searchIndexed("Samsung", 10);
+        assertTrue(products.isEmpty());
+    }
+
+    @Test
+    void indexedWildcards() {
+        assertEquals(2, productSearchService.searchIndexed("apple_iphone", 10).size());
+        assertEquals(2, productSearchService.searchIndexed("apple%max", 10).size());
+        assertEquals(2, productSearchService.searchIndexed("i_hone", 10).size());
+        assertTrue(productSearchService.searchIndexed("apple\\_iphone", 10).isEmpty());
+    }
+
+    @Test
+    void indexedBulkInsert() {
+        Category category = new Category();
+        category.setName("Bulk Search Catalog");
+
+        Product product = new Product();
+        product.setName("Bulk Search Kettle");
+        product.setPrice(10_000L);
+        bulkSaveService.saveCatalog(category, List.of(product));
+
+        try {
+            List<Product> products = productSearchService.searchIndexed("search kettle", 10);
+            assertEquals(1, products.size());
+            assertEquals(product.getId(), products.get(0).getId());
+
+            products = productSearchService.searchIndexed("bulk search catalog", 10);
+            assertEquals(1, products.size());
+        } finally {
+            productRepository.bulkDeleteByIds(List.of(product.getId()));
+            categoryRepository.deleteById(category.getId());
+        }
+
+        assertTrue(productSearchService.searchIndexed("search kettle", 10).isEmpty());
+    }
+}
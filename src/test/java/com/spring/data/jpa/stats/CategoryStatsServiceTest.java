@@ -0,0 +1,108 @@
+package com.spring.data.jpa.stats;
+
+import com.spring.data.jpa.entity.Category;
+import com.spring.data.jpa.entity.Product;
+import com.spring.data.jpa.model.CategoryStats;
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CategoryStatsServiceTest {
+
+    @Autowired
+    private CategoryStatsService categoryStatsService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void incremental() {
+        Category category = categoryRepository.findById(5L).orElse(null);
+        assertNotNull(category);
+
+        CategoryStats before = categoryStatsService.findByCategoryId(5L).orElse(null);
+        assertNotNull(before);
+
+        Product product = new Product();
+        product.setName("Stats Product");
+        product.setPrice(1L);
+        product.setCategory(category);
+        productRepository.save(product);
+
+        CategoryStats inserted = categoryStatsService.findByCategoryId(5L).orElse(null);
+        assertNotNull(inserted);
+        assertEquals(before.productCount() + 1, inserted.productCount());
+        assertEquals(before.priceSum() + 1, inserted.priceSum());
+        assertEquals(1L, inserted.priceMin());
+
+        productRepository.delete(productRepository.findById(product.getId()).orElseThrow());
+
+        CategoryStats deleted = categoryStatsService.findByCategoryId(5L).orElse(null);
+        assertNotNull(deleted);
+        assertEquals(before, deleted);
+    }
+
+    @Test
+    void save() {
+        Category category = categoryRepository.findById(5L).orElse(null);
+        assertNotNull(category);
+
+        CategoryStats before = categoryStatsService.findByCategoryId(5L).orElse(null);
+        assertNotNull(before);
+
+        Product product = new Product();
+        product.setName("Stats Save Product");
+        product.setPrice(10L);
+        product.setCategory(category);
+        productRepository.save(product);
+        assertNotNull(productRepository.findById(product.getId()).orElse(null));
+
+        Product saved = productRepository.findById(product.getId()).orElseThrow();
+        saved.setPrice(30L);
+        productRepository.save(saved);
+
+        CategoryStats updated = categoryStatsService.findByCategoryId(5L).orElse(null);
+        assertNotNull(updated);
+        assertEquals(before.productCount() + 1, updated.productCount());
+        assertEquals(before.priceSum() + 30, updated.priceSum());
+
+        productRepository.deleteById(product.getId());
+        assertEquals(before, categoryStatsService.findByCategoryId(5L).orElse(null));
+    }
+
+    @Test
+    void bulk() {
+        Category category = categoryRepository.findById(5L).orElse(null);
+        assertNotNull(category);
+
+        CategoryStats before = categoryStatsService.findByCategoryId(5L).orElse(null);
+        assertNotNull(before);
+
+        Product product = new Product();
+        product.setName("Stats Bulk Product");
+        product.setPrice(1_000_000_000L);
+        product.setCategory(category);
+        productRepository.bulkInsert(List.of(product));
+
+        CategoryStats inserted = categoryStatsService.findByCategoryId(5L).orElse(null);
+        assertNotNull(inserted);
+        assertEquals(before.productCount() + 1, inserted.productCount());
+        assertEquals(1_000_000_000L, inserted.priceMax());
+
+        productRepository.bulkDeleteByIds(List.of(product.getId()));
+
+        CategoryStats deleted = categoryStatsService.findByCategoryId(5L).orElse(null);
+        assertNotNull(deleted);
+        assertEquals(before, deleted);
+    }
+}
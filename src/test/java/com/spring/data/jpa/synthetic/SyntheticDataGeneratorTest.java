@@ -0,0 +1,56 @@
+package com.spring.data.jpa.synthetic;
+
+import com.spring.data.jpa.repository.CategoryRepository;
+import com.spring.data.jpa.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:synthetic;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "product.search-index.warm-up=false"
+})
+@ActiveProfiles("embedded")
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void fixtures() {
+        assertEquals("GADGET MURAH", categoryRepository.findById(5L).map(category -> category.getName()).orElse(null));
+        assertEquals(2, productRepository.countByCategory_name("GADGET MURAH"));
+        assertEquals("Apple Iphone 14 Pro Max", productRepository.findById(1L).map(product -> product.getName()).orElse(null));
+    }
+
+    @Test
+    void deterministic() {
+        List<Long> first = syntheticDataGenerator.generate(2, 1_234);
+        List<Long> second = syntheticDataGenerator.generate(2, 1_234);
+
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(1_234, productRepository.findPricesByCategoryId(first.get(i)).length);
+            assertArrayEquals(productRepository.findPricesByCategoryId(first.get(i)),
+                    productRepository.findPricesByCategoryId(second.get(i)));
+        }
+
+        Long names = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE category_id = ? AND name LIKE 'Product 1-%'", Long.class, first.get(1));
+        assertEquals(1_234L, names);
+    }
+}